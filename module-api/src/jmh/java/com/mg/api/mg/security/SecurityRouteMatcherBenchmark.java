@@ -0,0 +1,48 @@
+package com.mg.api.mg.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deciding whether a request bypasses authentication (per request)
+ * - legacy : new AntPathMatcher, every pattern tested in turn
+ * - shared : SecurityRouteMatcher (hash lookup + patterns of the first segment only)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityRouteMatcherBenchmark {
+
+    private static final String[] PATHS = SecurityRouteMatcherTest.PATHS.toArray(new String[0]);
+
+    private final SecurityRouteMatcher matcher = new SecurityRouteMatcher();
+    private int index;
+
+    private String nextPath() {
+        index = index == PATHS.length - 1 ? 0 : index + 1;
+        return PATHS[index];
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        return LegacySecurityRoutes.matches(nextPath());
+    }
+
+    @Benchmark
+    public boolean shared() {
+        return matcher.matches(nextPath());
+    }
+
+}
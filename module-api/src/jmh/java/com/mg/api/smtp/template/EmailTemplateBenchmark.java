@@ -0,0 +1,55 @@
+package com.mg.api.smtp.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 메일 본문 작성 비용 비교 (메일 1건당)
+ * - legacy : 기존 createMail 의 String += 연결
+ * - template : 컴파일된 템플릿 + 스레드 별 버퍼 재사용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine engine;
+    private int number = 100000;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine(new DefaultResourceLoader(), "classpath:mail-templates/", false);
+    }
+
+    private int nextNumber() {
+        number = number == 999999 ? 100000 : number + 1;
+        return number;
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyVerificationMail.body(nextNumber());
+    }
+
+    @Benchmark
+    public String template() {
+        return engine.renderBody(EmailTemplateType.VERIFICATION, Map.of("number", nextNumber()));
+    }
+
+}
@@ -1,25 +1,42 @@
 package com.mg.api.file.controller;
 
+import com.mg.api.file.service.ChunkedUploadService;
 import com.mg.api.file.service.FileService;
+import com.mg.api.file.service.ThumbnailService;
+import com.mg.api.file.storage.StoredFile;
+import com.mg.api.file.vo.ChunkedUploadVO;
 import com.mg.api.file.vo.FileUploadVO;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.io.IOException;
 
@@ -31,9 +48,25 @@ import java.io.IOException;
 public class FileController {
     private static final Logger logger = LoggerFactory.getLogger(FileController.class);
 
+    // Tomcat NIO 커넥터의 sendfile 관련 request attribute
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    // 확장자 별 MIME 타입 캐시
+    private final Map<String, String> contentTypeCache = new ConcurrentHashMap<>();
+
     @PostMapping("/uploadFile")
     public FileUploadVO uploadFile(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) {
@@ -60,34 +93,231 @@ public class FileController {
 
     @PostMapping("/uploadmultiplefiles")
     public List<FileUploadVO> uploadMultipleFiles(@RequestParam("files") MultipartFile[] files) {
-        return Arrays.asList(files)
-                .stream()
-                .map(file -> uploadFile(file))
+        // 요청 스레드에서만 현재 context path 를 알 수 있으므로 미리 계산
+        String downloadBaseUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/Downloads/")
+                .toUriString();
+
+        // 파일 별로 병렬 저장, 일부 실패 시에도 파일 별 결과를 반환
+        List<CompletableFuture<FileUploadVO>> futures = Arrays.stream(files)
+                .map(file -> {
+                    String fileOriginalName = StringUtils.cleanPath(String.valueOf(file.getOriginalFilename()));
+                    if (file.isEmpty()) {
+                        log.info("파일 업로드 실패! 비어있음 >>> {}", fileOriginalName);
+                        return CompletableFuture.completedFuture(FileUploadVO.failed(fileOriginalName, "empty file"));
+                    }
+                    return fileService.storeFileAsync(file)
+                            .handle((fileName, ex) -> ex == null
+                                    ? toFileUploadVO(fileName, fileOriginalName, file.getSize(), downloadBaseUri)
+                                    : FileUploadVO.failed(fileOriginalName, ex.getMessage()));
+                })
+                .collect(Collectors.toList());
+
+        return futures.stream()
+                .map(CompletableFuture::join)
                 .collect(Collectors.toList());
     }
 
+    private FileUploadVO toFileUploadVO(String fileName, String fileOriginalName, long size, String downloadBaseUri) {
+        // 파일의 확장자만 추출
+        String fileExt = fileName.replaceAll("^.*\\.(.*)$", "$1");
+        FileUploadVO vo = new FileUploadVO(fileName, fileOriginalName, fileExt, downloadBaseUri + fileName);
+        vo.setSize(size);
+        return vo;
+    }
+
+    // 분할 업로드 시작 : 이후 chunk 를 PUT /chunked/{uploadId}?offset= 으로 전송 (로그인 사용자만 가능)
+    @PostMapping("/chunked")
+    public ResponseEntity<ChunkedUploadVO> initiateChunkedUpload(@RequestParam("fileName") String fileName,
+            @RequestParam("totalSize") long totalSize, Principal principal) throws IOException {
+        try {
+            return ResponseEntity.ok(chunkedUploadService.initiate(principal.getName(), fileName, totalSize));
+        } catch (IllegalArgumentException ex) {
+            log.info("분할 업로드 시작 실패 >>> {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException ex) {
+            log.info("분할 업로드 시작 실패 >>> {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    // chunk 전송 : 요청 본문(application/octet-stream)을 그대로 기록, X-Chunk-Checksum 헤더(SHA-256 hex)로 검증
+    @PutMapping("/chunked/{uploadId}")
+    public ResponseEntity<ChunkedUploadVO> uploadChunk(@PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader(value = "X-Chunk-Checksum", required = false) String checksum,
+            HttpServletRequest request, Principal principal) throws IOException {
+        try {
+            ChunkedUploadVO status = chunkedUploadService.writeChunk(principal.getName(), uploadId, offset,
+                    request.getInputStream(), checksum);
+            return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+        } catch (IllegalArgumentException ex) {
+            log.info("chunk 업로드 실패 >>> {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // 분할 업로드 상태 조회 (수신된 chunk 목록)
+    @GetMapping("/chunked/{uploadId}")
+    public ResponseEntity<ChunkedUploadVO> chunkedUploadStatus(@PathVariable String uploadId, Principal principal) {
+        ChunkedUploadVO status = chunkedUploadService.findStatus(principal.getName(), uploadId);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    // 분할 업로드 완료
+    @PostMapping("/chunked/{uploadId}/complete")
+    public ResponseEntity<FileUploadVO> completeChunkedUpload(@PathVariable String uploadId, Principal principal)
+            throws IOException {
+        ChunkedUploadVO status = chunkedUploadService.findStatus(principal.getName(), uploadId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String fileName;
+        try {
+            fileName = chunkedUploadService.complete(principal.getName(), uploadId);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (fileName == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String downloadBaseUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/Downloads/")
+                .toUriString();
+        return ResponseEntity.ok(toFileUploadVO(fileName, status.getFileOriginalName(), status.getTotalSize(),
+                downloadBaseUri));
+    }
+
+    // 분할 업로드 취소
+    @DeleteMapping("/chunked/{uploadId}")
+    public ResponseEntity<Void> abortChunkedUpload(@PathVariable String uploadId, Principal principal)
+            throws IOException {
+        try {
+            return chunkedUploadService.abort(principal.getName(), uploadId)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/thumbnail-status/{fileName:.+}")
+    public ResponseEntity<Map<String, Object>> thumbnailStatus(@PathVariable String fileName) {
+        ThumbnailService.ThumbnailStatus status = thumbnailService.findStatus(fileName);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "fileName", fileName,
+                "status", status,
+                "queueDepth", thumbnailService.getQueueDepth()));
+    }
+
     @GetMapping("/downloadfile/{fileName:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName, HttpServletRequest request)
+    public void downloadFile(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
             throws Exception {
-        // 리소스에서 파일을 불러옴
-        Resource resource = fileService.loadFileAsResource(fileName);
+        // 저장소에서 파일 정보를 불러옴
+        StoredFile storedFile = fileService.loadFile(fileName);
+        long length = storedFile.getSize();
+        long lastModified = storedFile.getLastModified();
+        String eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        // If-None-Match / If-Modified-Since 가 일치하면 파일을 읽지 않고 304 반환 (ETag, Last-Modified 헤더도 여기서 설정)
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
 
-        // 파일 타입을 읽어와서 지정
-        String contentType = null;
+        response.setContentType(resolveContentType(request, fileName));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + Path.of(fileName).getFileName() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isIfRangeMatched(request, eTag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // 다중 범위(multipart/byteranges)는 지원하지 않고 전체 파일로 응답
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException ex) {
+                response.reset();
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count <= 0) {
+            return;
+        }
+        if (storedFile.getLocalPath() != null) {
+            transferFile(request, response, storedFile.getLocalPath(), start, count);
+        } else {
+            // 원격 저장소는 필요한 범위만 스트림으로 전달
+            try (InputStream input = fileService.openFile(fileName, start, count)) {
+                input.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    // If-Range 헤더가 없거나 현재 파일과 일치할 때만 범위 요청을 처리
+    private boolean isIfRangeMatched(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
         try {
-            contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-        } catch (IOException ex) {
-            log.info("파일 타입이 지정되지 않음");
+            return lastModified / 1000 <= request.getDateHeader(HttpHeaders.IF_RANGE) / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    // 파일 전송 : 커넥터가 sendfile 을 지원하면 위임하고, 아니면 FileChannel.transferTo 로 전송
+    private void transferFile(HttpServletRequest request, HttpServletResponse response, Path filePath, long start,
+            long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + count);
+            return;
         }
 
-        // 유형을 결정할 수 없는 경우 기본 값으로 대체
-        if (contentType == null) {
-            contentType = "application/octet-stream";
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remain = count;
+            while (remain > 0) {
+                long transferred = channel.transferTo(position, remain, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remain -= transferred;
+            }
         }
+    }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+    // 파일 타입을 확장자 기준으로 캐싱해서 지정 (유형을 결정할 수 없는 경우 기본 값으로 대체)
+    private String resolveContentType(HttpServletRequest request, String fileName) {
+        String fileExt = StringUtils.getFilenameExtension(fileName);
+        String key = fileExt == null ? "" : fileExt.toLowerCase(Locale.ROOT);
+        return contentTypeCache.computeIfAbsent(key, ext -> {
+            String contentType = request.getServletContext().getMimeType(fileName);
+            return contentType == null ? DEFAULT_CONTENT_TYPE : contentType;
+        });
     }
 }
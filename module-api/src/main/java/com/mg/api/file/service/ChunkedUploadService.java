@@ -0,0 +1,462 @@
+package com.mg.api.file.service;
+
+import com.mg.api.file.vo.ChunkedUploadVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * 분할(재개 가능) 업로드 서비스
+ * 1. initiate : 업로드 세션 생성, 전체 크기만큼 임시 파일을 미리 할당
+ * 2. writeChunk : chunk 를 offset 위치에 바로 기록 (FileChannel positional write), chunk 별 SHA-256 검증
+ * 3. findStatus : 수신된 chunk 목록 조회 (끊긴 업로드를 이어서 전송할 때 사용)
+ * 4. complete : 모든 chunk 수신 확인 후 임시 파일을 저장소로 원자적으로 이동 (저장 실패 시 세션 유지, 다시 complete 가능)
+ * 세션은 생성한 사용자만 사용할 수 있으며, 동시에 열 수 있는 세션 수는 전체(custom.upload.chunked.max-sessions)와
+ * 사용자 별(custom.upload.chunked.max-sessions-per-user)로 제한한다.
+ * 세션마다 전체 크기만큼 디스크를 미리 할당하므로 session-timeout-ms 동안 요청이 없는 세션은 임시 파일과 함께 정리한다.
+ * 요청 본문을 바로 파일에 기록하므로 multipart 처럼 파일 전체를 먼저 버퍼링하지 않는다.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final String TEMP_DIR = ".chunked";
+    private static final String TEMP_SUFFIX = ".part";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 업로드 세션 (chunk 수신 상태는 세션 객체로 동기화)
+     */
+    private static class UploadSession {
+        private final String uploadId;
+        private final String owner;
+        private final String fileOriginalName;
+        private final String fileName;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final Path tempFile;
+        private FileChannel channel;
+        private final BitSet receivedChunks;
+        private final BitSet writingChunks;
+        private volatile long lastAccessTime;
+        private boolean closed;
+        private boolean completing;
+
+        private UploadSession(String uploadId, String owner, String fileOriginalName, String fileName, long totalSize,
+                int chunkSize, Path tempFile, FileChannel channel) {
+            this.uploadId = uploadId;
+            this.owner = owner;
+            this.fileOriginalName = fileOriginalName;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.tempFile = tempFile;
+            this.channel = channel;
+            this.receivedChunks = new BitSet(totalChunks);
+            this.writingChunks = new BitSet(totalChunks);
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        private long chunkLength(int index) {
+            return Math.min(chunkSize, totalSize - (long) index * chunkSize);
+        }
+    }
+
+    private final FileService fileService;
+    private final Path tempDir;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final long sessionTimeoutMillis;
+    private final Semaphore sessionPermits;
+    private final int maxSessionsPerUser;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    // 사용자 -> 열려 있는 세션 수 (접근 시 객체 자체로 동기화)
+    private final Map<String, Integer> sessionCountsByOwner = new HashMap<>();
+
+    public ChunkedUploadService(FileService fileService,
+            @Value("${custom.upload.chunked.chunk-size:8388608}") int chunkSize,
+            @Value("${custom.upload.chunked.max-file-size:10737418240}") long maxFileSize,
+            @Value("${custom.upload.chunked.session-timeout-ms:1800000}") long sessionTimeoutMillis,
+            @Value("${custom.upload.chunked.max-sessions:100}") int maxSessions,
+            @Value("${custom.upload.chunked.max-sessions-per-user:3}") int maxSessionsPerUser)
+            throws IOException {
+        this.fileService = fileService;
+        // 완료 시 원자적 이동이 가능하도록 업로드 디렉토리와 같은 파일 시스템에 임시 파일 생성
+        this.tempDir = fileService.getFileStorageLocation().resolve(TEMP_DIR);
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTimeoutMillis = sessionTimeoutMillis;
+        this.sessionPermits = new Semaphore(maxSessions);
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        Files.createDirectories(tempDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 임시 파일은 남겨두고 파일 핸들만 정리 (재기동 후 정리 작업에서 삭제)
+        for (UploadSession session : sessions.values()) {
+            closeQuietly(session);
+        }
+    }
+
+    /**
+     * 업로드 세션 생성
+     *
+     * @param owner            세션을 생성한 사용자
+     * @param fileOriginalName 원본 파일 명
+     * @param totalSize        전체 파일 크기
+     * @return 업로드 상태
+     * @throws IllegalStateException 동시 세션 수를 초과한 경우
+     */
+    public ChunkedUploadVO initiate(String owner, String fileOriginalName, long totalSize) throws IOException {
+        if (!StringUtils.hasText(fileOriginalName) || fileOriginalName.contains("..")) {
+            throw new IllegalArgumentException("허용되지 않은 파일 명입니다. >>> " + fileOriginalName);
+        }
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new IllegalArgumentException("허용되지 않은 파일 크기입니다. >>> " + totalSize);
+        }
+
+        // 세션마다 파일 핸들과 디스크 공간을 점유하므로 동시 세션 수를 제한
+        if (!acquireOwnerSlot(owner)) {
+            throw new IllegalStateException("사용자 별 동시 분할 업로드 세션 수를 초과했습니다. >>> " + owner);
+        }
+        if (!sessionPermits.tryAcquire()) {
+            releaseOwnerSlot(owner);
+            throw new IllegalStateException("동시 분할 업로드 세션 수를 초과했습니다.");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        Path tempFile = tempDir.resolve(uploadId + TEMP_SUFFIX);
+        FileChannel channel;
+        try {
+            // 전체 크기만큼 미리 할당해 두고 chunk 는 순서와 관계없이 offset 위치에 기록
+            try (RandomAccessFile file = new RandomAccessFile(tempFile.toFile(), "rw")) {
+                file.setLength(totalSize);
+            }
+            channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            sessionPermits.release();
+            releaseOwnerSlot(owner);
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+
+        UploadSession session = new UploadSession(uploadId, owner, StringUtils.cleanPath(fileOriginalName),
+                fileService.createFileName(fileOriginalName), totalSize, chunkSize, tempFile, channel);
+        sessions.put(uploadId, session);
+        log.info("분할 업로드 시작 >>> {} ({}, {} bytes, {} chunks)", uploadId, session.fileOriginalName, totalSize,
+                session.totalChunks);
+        return toStatus(session);
+    }
+
+    /**
+     * chunk 기록
+     *
+     * @param owner    요청한 사용자
+     * @param uploadId 업로드 세션 ID
+     * @param offset   chunk 시작 위치 (chunkSize 의 배수)
+     * @param input    chunk 내용
+     * @param checksum chunk 의 SHA-256 (hex), 없으면 검증하지 않음
+     * @return 업로드 상태, 세션이 없으면 null
+     */
+    public ChunkedUploadVO writeChunk(String owner, String uploadId, long offset, InputStream input, String checksum)
+            throws IOException {
+        UploadSession session = findSession(owner, uploadId);
+        if (session == null) {
+            return null;
+        }
+        if (offset < 0 || offset >= session.totalSize || offset % session.chunkSize != 0) {
+            throw new IllegalArgumentException("잘못된 chunk 위치입니다. >>> " + offset);
+        }
+        int index = (int) (offset / session.chunkSize);
+        long expectedLength = session.chunkLength(index);
+
+        synchronized (session) {
+            if (session.closed) {
+                return null;
+            }
+            if (session.completing) {
+                throw new IllegalStateException("완료 처리 중인 업로드입니다. >>> " + uploadId);
+            }
+            if (session.writingChunks.get(index)) {
+                throw new IllegalStateException("같은 chunk 를 기록 중입니다. >>> " + index);
+            }
+            session.writingChunks.set(index);
+            session.receivedChunks.clear(index);
+            session.lastAccessTime = System.currentTimeMillis();
+        }
+
+        try {
+            MessageDigest digest = newDigest();
+            long written = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            byte[] array = buffer.array();
+            int read;
+            while ((read = input.read(array)) != -1) {
+                if (written + read > expectedLength) {
+                    throw new IllegalArgumentException("chunk 크기가 올바르지 않습니다. >>> " + index);
+                }
+                digest.update(array, 0, read);
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    written += session.channel.write(buffer, offset + written);
+                }
+            }
+            if (written != expectedLength) {
+                throw new IllegalArgumentException("chunk 크기가 올바르지 않습니다. >>> " + index + " (" + written
+                        + "/" + expectedLength + ")");
+            }
+
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (StringUtils.hasText(checksum) && !actual.equalsIgnoreCase(checksum.trim())) {
+                throw new IllegalArgumentException("chunk 체크섬이 일치하지 않습니다. >>> " + index);
+            }
+
+            synchronized (session) {
+                session.receivedChunks.set(index);
+                session.lastAccessTime = System.currentTimeMillis();
+                return toStatus(session);
+            }
+        } catch (ClosedChannelException ex) {
+            // 기록 도중 취소(또는 만료)되어 임시 파일이 닫힌 경우 세션이 없는 것으로 처리
+            synchronized (session) {
+                if (session.closed) {
+                    return null;
+                }
+            }
+            throw ex;
+        } finally {
+            synchronized (session) {
+                session.writingChunks.clear(index);
+            }
+        }
+    }
+
+    /**
+     * 업로드 상태 조회
+     *
+     * @param owner    요청한 사용자
+     * @param uploadId 업로드 세션 ID
+     * @return 업로드 상태, 세션이 없으면 null
+     */
+    public ChunkedUploadVO findStatus(String owner, String uploadId) {
+        UploadSession session = findSession(owner, uploadId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            session.lastAccessTime = System.currentTimeMillis();
+            return toStatus(session);
+        }
+    }
+
+    /**
+     * 업로드 완료 : 모든 chunk 가 수신되었으면 임시 파일을 저장소로 이동
+     * 저장에 실패하면 세션과 임시 파일을 그대로 두어 다시 complete 를 요청할 수 있다.
+     *
+     * @param owner    요청한 사용자
+     * @param uploadId 업로드 세션 ID
+     * @return 저장된 파일 명, 세션이 없으면 null
+     */
+    public String complete(String owner, String uploadId) throws IOException {
+        UploadSession session = findSession(owner, uploadId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            if (session.closed) {
+                return null;
+            }
+            if (session.completing) {
+                throw new IllegalStateException("완료 처리 중인 업로드입니다. >>> " + uploadId);
+            }
+            if (session.receivedChunks.cardinality() != session.totalChunks || !session.writingChunks.isEmpty()) {
+                throw new IllegalStateException("수신되지 않은 chunk 가 있습니다. >>> " + uploadId);
+            }
+            session.channel.force(false);
+            session.channel.close();
+            session.completing = true;
+        }
+
+        try {
+            fileService.saveLocalFile(session.tempFile, session.fileName);
+        } catch (IOException | RuntimeException ex) {
+            // 임시 파일은 남아 있으므로 세션을 되살려 재시도(또는 chunk 재전송)를 허용
+            synchronized (session) {
+                session.completing = false;
+                if (!session.closed) {
+                    session.channel = FileChannel.open(session.tempFile, StandardOpenOption.WRITE);
+                }
+                session.lastAccessTime = System.currentTimeMillis();
+            }
+            throw ex;
+        }
+
+        synchronized (session) {
+            session.closed = true;
+        }
+        removeSession(session);
+        Files.deleteIfExists(session.tempFile);
+        log.info("분할 업로드 완료 >>> {} ({})", uploadId, session.fileName);
+        return session.fileName;
+    }
+
+    /**
+     * 업로드 취소
+     *
+     * @param owner    요청한 사용자
+     * @param uploadId 업로드 세션 ID
+     * @return 취소 여부
+     */
+    public boolean abort(String owner, String uploadId) throws IOException {
+        UploadSession session = findSession(owner, uploadId);
+        if (session == null) {
+            return false;
+        }
+        synchronized (session) {
+            if (session.completing) {
+                throw new IllegalStateException("완료 처리 중인 업로드입니다. >>> " + uploadId);
+            }
+        }
+        if (!removeSession(session)) {
+            return false;
+        }
+        closeQuietly(session);
+        Files.deleteIfExists(session.tempFile);
+        return true;
+    }
+
+    /**
+     * 오래된 업로드 세션 및 세션이 없는 임시 파일 정리
+     * 만료된 세션의 임시 파일은 미리 할당한 디스크 공간을 바로 돌려주도록 즉시 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${custom.upload.chunked.cleanup-interval-ms:60000}")
+    public void cleanupExpiredSessions() {
+        long threshold = System.currentTimeMillis() - sessionTimeoutMillis;
+        int removed = 0;
+        for (UploadSession session : List.copyOf(sessions.values())) {
+            if (session.lastAccessTime < threshold && !isCompleting(session) && removeSession(session)) {
+                closeQuietly(session);
+                try {
+                    Files.deleteIfExists(session.tempFile);
+                } catch (IOException ex) {
+                    log.warn("분할 업로드 임시 파일을 삭제할 수 없습니다. >>> {}", session.uploadId, ex);
+                }
+                removed++;
+            }
+        }
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                String uploadId = name.endsWith(TEMP_SUFFIX)
+                        ? name.substring(0, name.length() - TEMP_SUFFIX.length())
+                        : name;
+                if (!sessions.containsKey(uploadId) && Files.getLastModifiedTime(file).toMillis() < threshold) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("분할 업로드 임시 파일 정리에 실패했습니다.", ex);
+        }
+        if (removed > 0) {
+            log.info("만료된 분할 업로드 세션 정리 >>> {}", removed);
+        }
+    }
+
+    private ChunkedUploadVO toStatus(UploadSession session) {
+        List<Integer> received = new ArrayList<>(session.receivedChunks.cardinality());
+        long receivedBytes = 0;
+        for (int i = session.receivedChunks.nextSetBit(0); i >= 0; i = session.receivedChunks.nextSetBit(i + 1)) {
+            received.add(i);
+            receivedBytes += session.chunkLength(i);
+        }
+        return new ChunkedUploadVO(session.uploadId, session.fileOriginalName, session.totalSize, session.chunkSize,
+                session.totalChunks, received, receivedBytes);
+    }
+
+    // 다른 사용자의 세션은 없는 것으로 처리
+    private UploadSession findSession(String owner, String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        return session != null && session.owner.equals(owner) ? session : null;
+    }
+
+    private boolean removeSession(UploadSession session) {
+        if (!sessions.remove(session.uploadId, session)) {
+            return false;
+        }
+        sessionPermits.release();
+        releaseOwnerSlot(session.owner);
+        return true;
+    }
+
+    private boolean acquireOwnerSlot(String owner) {
+        synchronized (sessionCountsByOwner) {
+            int count = sessionCountsByOwner.getOrDefault(owner, 0);
+            if (count >= maxSessionsPerUser) {
+                return false;
+            }
+            sessionCountsByOwner.put(owner, count + 1);
+            return true;
+        }
+    }
+
+    private void releaseOwnerSlot(String owner) {
+        synchronized (sessionCountsByOwner) {
+            sessionCountsByOwner.computeIfPresent(owner, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private boolean isCompleting(UploadSession session) {
+        synchronized (session) {
+            return session.completing;
+        }
+    }
+
+    private void closeQuietly(UploadSession session) {
+        synchronized (session) {
+            session.closed = true;
+            try {
+                session.channel.close();
+            } catch (IOException ex) {
+                log.warn("분할 업로드 임시 파일을 닫을 수 없습니다. >>> {}", session.uploadId, ex);
+            }
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
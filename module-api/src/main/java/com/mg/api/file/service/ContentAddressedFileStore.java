@@ -0,0 +1,298 @@
+package com.mg.api.file.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 내용 기반(content-addressed) 파일 저장소
+ * 파일을 복사하면서 SHA-256 해시를 계산하고, 같은 내용의 파일은 한 번만 저장한다.
+ * - 실제 파일 : {upload-path}/cas/{해시 앞 2자리}/{해시 3~4자리}/{해시}
+ * - 논리 파일명 -> 해시 매핑 : {upload-path}/cas/index.log (append-only, 기동 시 재생)
+ * - 해시 별 참조 수가 0 이 되면 실제 파일을 삭제
+ * 매핑은 모두 메모리에 유지하므로 항목 당 (파일명 + 64자 해시) 문자열 정도의 힙을 사용한다.
+ * (항목 100만 개 기준 약 200~300MB) custom.upload.cas.max-entries 로 항목 수를 제한한다.
+ */
+@Slf4j
+@Component
+public class ContentAddressedFileStore {
+
+    public static final String STORAGE_MODE = "content-addressed";
+
+    private static final String PUT = "P";
+    private static final String DELETE = "D";
+    private static final String SEPARATOR = "\t";
+
+    private final boolean enabled;
+    private final Path casRoot;
+    private final Path tempDir;
+    private final Path indexFile;
+    private final long orphanGraceMillis;
+    private final int maxEntries;
+
+    // 논리 파일명 -> 해시
+    private final Map<String, String> nameIndex = new HashMap<>();
+    // 해시 -> 참조 수
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private BufferedWriter indexWriter;
+
+    public ContentAddressedFileStore(@Value("${upload-path}") String uploadPath,
+            @Value("${custom.upload.storage-mode:plain}") String storageMode,
+            @Value("${custom.upload.cas.orphan-grace-ms:3600000}") long orphanGraceMillis,
+            @Value("${custom.upload.cas.max-entries:1000000}") int maxEntries) throws IOException {
+        this.enabled = STORAGE_MODE.equalsIgnoreCase(storageMode);
+        this.casRoot = Paths.get(uploadPath).toAbsolutePath().normalize().resolve("cas");
+        this.tempDir = casRoot.resolve("tmp");
+        this.indexFile = casRoot.resolve("index.log");
+        this.orphanGraceMillis = orphanGraceMillis;
+        this.maxEntries = maxEntries;
+
+        if (enabled) {
+            Files.createDirectories(tempDir);
+            loadIndex();
+            indexWriter = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 종료 시 인덱스 파일을 flush 후 닫음
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (indexWriter != null) {
+            indexWriter.flush();
+            indexWriter.close();
+            indexWriter = null;
+        }
+    }
+
+    /**
+     * 스트림을 저장하고 논리 파일명에 연결
+     *
+     * @param logicalName 논리 파일명
+     * @param input       파일 내용
+     * @return 내용 해시
+     */
+    public String put(String logicalName, InputStream input) throws IOException {
+        // 인덱스 레코드는 탭/줄바꿈으로 구분되므로 해당 문자가 포함된 이름은 저장할 수 없음
+        if (logicalName.contains(SEPARATOR) || logicalName.contains("\n") || logicalName.contains("\r")) {
+            throw new IOException("파일 명에 허용되지 않은 문자가 포함되어 있습니다. >>> " + logicalName);
+        }
+        Path temp = tempDir.resolve(UUID.randomUUID().toString());
+        String hash;
+        try {
+            // 복사하면서 해시 계산
+            MessageDigest digest = newDigest();
+            try (DigestInputStream digestInput = new DigestInputStream(input, digest)) {
+                Files.copy(digestInput, temp);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+
+            synchronized (this) {
+                ensureOpen();
+                if (nameIndex.size() >= maxEntries && !nameIndex.containsKey(logicalName)) {
+                    throw new IOException("파일 저장소 항목 수가 한도를 초과했습니다. >>> " + maxEntries);
+                }
+                Path blob = blobPath(hash);
+                if (!Files.exists(blob)) {
+                    Files.createDirectories(blob.getParent());
+                    try {
+                        Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException ex) {
+                        // 이미 같은 내용이 저장되어 있음
+                    }
+                }
+                link(logicalName, hash);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hash;
+    }
+
+    /**
+     * 논리 파일명에 해당하는 실제 파일 경로
+     *
+     * @param logicalName 논리 파일명
+     * @return 실제 파일 경로, 없으면 null
+     */
+    public synchronized Path resolve(String logicalName) {
+        String hash = nameIndex.get(logicalName);
+        return hash == null ? null : blobPath(hash);
+    }
+
+    /**
+     * 논리 파일명 연결 해제, 참조 수가 0 이 되면 실제 파일 삭제
+     *
+     * @param logicalName 논리 파일명
+     * @return 삭제 여부
+     */
+    public synchronized boolean delete(String logicalName) throws IOException {
+        ensureOpen();
+        String hash = nameIndex.remove(logicalName);
+        if (hash == null) {
+            return false;
+        }
+        appendIndex(DELETE + SEPARATOR + logicalName);
+        if (decrementRef(hash) == 0) {
+            Files.deleteIfExists(blobPath(hash));
+        }
+        return true;
+    }
+
+    /**
+     * 참조되지 않는 실제 파일 정리 및 인덱스 압축
+     * 저장 중인 파일과 겹치지 않도록 orphanGraceMillis 보다 오래된 파일만 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${custom.upload.cas.gc-interval-ms:3600000}")
+    public void collectGarbage() {
+        if (!enabled) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - orphanGraceMillis;
+        int removed = 0;
+        // 디렉토리 탐색은 lock 밖에서 수행 (다운로드/업로드를 막지 않도록 참조 목록만 복사)
+        Set<String> referenced;
+        synchronized (this) {
+            referenced = new HashSet<>(refCounts.keySet());
+        }
+        try {
+            List<Path> candidates;
+            try (Stream<Path> files = Files.walk(casRoot)) {
+                candidates = files.filter(Files::isRegularFile)
+                        .filter(path -> !path.getParent().equals(casRoot))
+                        .filter(path -> path.startsWith(tempDir)
+                                || !referenced.contains(path.getFileName().toString()))
+                        .toList();
+            }
+            for (Path blob : candidates) {
+                if (Files.getLastModifiedTime(blob).toMillis() >= threshold) {
+                    continue;
+                }
+                if (blob.startsWith(tempDir)) {
+                    removed += Files.deleteIfExists(blob) ? 1 : 0;
+                    continue;
+                }
+                // 탐색 중에 같은 내용이 다시 저장되었을 수 있으므로 lock 안에서 다시 확인 후 삭제
+                synchronized (this) {
+                    if (!refCounts.containsKey(blob.getFileName().toString())) {
+                        removed += Files.deleteIfExists(blob) ? 1 : 0;
+                    }
+                }
+            }
+            synchronized (this) {
+                // 종료 중이면 인덱스를 다시 열지 않음
+                if (indexWriter != null) {
+                    compactIndex();
+                }
+            }
+        } catch (IOException ex) {
+            log.error("파일 저장소 정리에 실패했습니다.", ex);
+        }
+        log.info("파일 저장소 정리 완료. 삭제: {}, 파일 수: {}, 실제 파일 수: {}", removed, nameIndex.size(), refCounts.size());
+    }
+
+    private void link(String logicalName, String hash) throws IOException {
+        String previous = nameIndex.put(logicalName, hash);
+        if (hash.equals(previous)) {
+            return;
+        }
+        refCounts.merge(hash, 1, Integer::sum);
+        appendIndex(PUT + SEPARATOR + logicalName + SEPARATOR + hash);
+        // 같은 이름으로 덮어쓴 경우 이전 내용의 참조 해제
+        if (previous != null && decrementRef(previous) == 0) {
+            Files.deleteIfExists(blobPath(previous));
+        }
+    }
+
+    private int decrementRef(String hash) {
+        Integer count = refCounts.computeIfPresent(hash, (key, value) -> value > 1 ? value - 1 : null);
+        return count == null ? 0 : count;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (indexWriter == null) {
+            throw new IOException("파일 저장소가 종료되었습니다.");
+        }
+    }
+
+    private void appendIndex(String line) throws IOException {
+        indexWriter.write(line);
+        indexWriter.newLine();
+        indexWriter.flush();
+    }
+
+    private void loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            String[] record = line.split(SEPARATOR);
+            if (PUT.equals(record[0]) && record.length == 3) {
+                nameIndex.put(record[1], record[2]);
+            } else if (DELETE.equals(record[0]) && record.length == 2) {
+                nameIndex.remove(record[1]);
+            }
+        }
+        for (String hash : nameIndex.values()) {
+            refCounts.merge(hash, 1, Integer::sum);
+        }
+    }
+
+    // 현재 매핑만 남도록 인덱스 파일을 다시 작성
+    private void compactIndex() throws IOException {
+        Path compacted = casRoot.resolve("index.log.compact");
+        try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : nameIndex.entrySet()) {
+                writer.write(PUT + SEPARATOR + entry.getKey() + SEPARATOR + entry.getValue());
+                writer.newLine();
+            }
+        }
+        indexWriter.close();
+        Files.move(compacted, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexWriter = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Path blobPath(String hash) {
+        return casRoot.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
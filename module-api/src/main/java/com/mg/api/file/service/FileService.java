@@ -1,6 +1,7 @@
 package com.mg.api.file.service;
 
-import net.coobird.thumbnailator.Thumbnails;
+import com.mg.api.file.storage.FileStorage;
+import com.mg.api.file.storage.StoredFile;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +13,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.File;
+import jakarta.annotation.PreDestroy;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -23,6 +24,13 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -31,9 +39,40 @@ public class FileService {
 
     private Path fileStorageLocation;
 
+    private final ThumbnailService thumbnailService;
+    // 내용 기반 중복 제거 저장소 (custom.upload.storage-mode=content-addressed 일 때 사용)
+    private final ContentAddressedFileStore contentAddressedFileStore;
+    // 파일 저장소 (custom.storage.type=local|s3)
+    private final FileStorage fileStorage;
+
+    // 다중 파일 업로드 병렬 처리용 executor
+    private final ThreadPoolExecutor uploadExecutor;
+    // 동시에 처리 중인 업로드 용량 제한 (KB 단위 permit)
+    private final Semaphore inFlightKiloBytes;
+    private final int maxInFlightKiloBytes;
+
     // 최초 생성자에서 디렉토리가 없는 경우 생성
-    public FileService(@Value("${upload-path}") String value) throws Exception {
+    public FileService(@Value("${upload-path}") String value, ThumbnailService thumbnailService,
+            ContentAddressedFileStore contentAddressedFileStore, FileStorage fileStorage,
+            @Value("${custom.upload.parallelism:4}") int parallelism,
+            @Value("${custom.upload.queue-capacity:100}") int queueCapacity,
+            @Value("${custom.upload.max-in-flight-bytes:268435456}") long maxInFlightBytes) throws Exception {
         uploadPath = value;
+        this.thumbnailService = thumbnailService;
+        this.contentAddressedFileStore = contentAddressedFileStore;
+        this.fileStorage = fileStorage;
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 큐가 가득 차면 요청 스레드에서 직접 처리 (CallerRunsPolicy)
+        this.uploadExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "file-upload-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.maxInFlightKiloBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxInFlightBytes / 1024));
+        this.inFlightKiloBytes = new Semaphore(this.maxInFlightKiloBytes);
         this.fileStorageLocation = Paths.get(uploadPath)
                 .toAbsolutePath().normalize();
 
@@ -45,37 +84,155 @@ public class FileService {
         }
     }
 
-    // 파일 저장
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    // 파일 저장 (실패 시 로그만 남김)
     public String storeFile(MultipartFile file) {
-        // 밀리세컨드 단위까지 지정
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMddhhmmssSSS_");
+        String fileName = createFileName(file);
+        try {
+            saveFile(file, fileName);
+        } catch (IOException ex) {
+            // saveFile 에서 로그 출력
+        }
+        return fileName;
+    }
+
+    // 파일 비동기 저장 : 처리 중인 업로드 용량이 제한을 넘으면 여유가 생길 때까지 대기
+    public CompletableFuture<String> storeFileAsync(MultipartFile file) {
+        int permits = (int) Math.min(maxInFlightKiloBytes, Math.max(1, file.getSize() / 1024));
+        try {
+            inFlightKiloBytes.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        String fileName = createFileName(file);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            uploadExecutor.execute(() -> {
+                try {
+                    saveFile(file, fileName);
+                    future.complete(fileName);
+                } catch (Exception ex) {
+                    future.completeExceptionally(ex);
+                } finally {
+                    inFlightKiloBytes.release(permits);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlightKiloBytes.release(permits);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    // 새로운 파일 명 생성
+    private String createFileName(MultipartFile file) {
+        return createFileName(file.getOriginalFilename());
+    }
+
+    // 원본 파일 명으로 새로운 파일 명 생성
+    String createFileName(String originalFilename) {
+        // 밀리세컨드 단위까지 지정 (24시간 표기)
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMddHHmmssSSS_");
         Timestamp timestamp = new Timestamp(System.currentTimeMillis());
         String timeStamp = sdf.format(timestamp);
+        // 같은 시각에 같은 이름의 파일이 동시에 올라와도 겹치지 않도록 임의 문자열 추가
+        String unique = UUID.randomUUID().toString().substring(0, 8) + "_";
 
-        // 새로운 파일 명
-        String fileName = timeStamp + StringUtils.cleanPath(file.getOriginalFilename());
+        return timeStamp + unique + StringUtils.cleanPath(originalFilename);
+    }
 
+    // 파일 저장 (실패 시 예외 발생)
+    public void saveFile(MultipartFile file, String fileName) throws IOException {
         try {
             // 파일 명에 허용되지 않은 문자열이 있는지 체크
             if (fileName.contains("..")) {
                 log.error("다음 파일 명에 허용되지 않은 문자열이 존재합니다! >>> {}", fileName);
             }
 
-            // 복사하면서 파일명이 같은 경우 파일을 덮어쓰기
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            Path targetLocation = contentAddressedFileStore.isEnabled() ? null : fileStorage.localPath(fileName);
+            if (contentAddressedFileStore.isEnabled()) {
+                // 내용 해시로 저장, 같은 내용의 파일은 한 번만 저장됨
+                try (InputStream input = file.getInputStream()) {
+                    contentAddressedFileStore.put(fileName, input);
+                }
+                targetLocation = contentAddressedFileStore.resolve(fileName);
+            } else if (targetLocation != null) {
+                // 같은 디렉토리의 임시 파일에 쓴 후 원자적으로 이동 (쓰는 도중의 파일이 다운로드되지 않도록 함)
+                // transferTo(File) 는 Part.write 를 호출하므로, multipart 임시 파일이 디스크에 있으면 복사 없이 이동됨
+                Path temp = targetLocation.resolveSibling("." + UUID.randomUUID() + ".tmp");
+                try {
+                    file.transferTo(temp.toFile());
+                    // 파일명이 같은 경우 파일을 덮어쓰기
+                    Files.move(temp, targetLocation, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } else {
+                // 원격 저장소로 스트림 업로드
+                try (InputStream input = file.getInputStream()) {
+                    fileStorage.put(fileName, input, file.getSize());
+                }
+            }
 
-            // 이미지 파일이라면 썸네일을 생성한다.
-            String fileExt = fileName.replaceAll("^.*\\.(.*)$", "$1");
-            if (fileExt.equalsIgnoreCase("jpg") || fileExt.equalsIgnoreCase("png") || fileExt.equalsIgnoreCase("gif")) {
-                thumbnailFileMake(fileName, new File(targetLocation.toString()));
+            submitThumbnail(fileName, targetLocation);
+        } catch (IOException ex) {
+            log.error("다음 파일을 저장할 수 없습니다. >>> " + fileName + ". 에러 >>> !", ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * 업로드 디렉토리 안에 완성된 임시 파일을 저장소로 옮김 (분할 업로드 완료 시 사용)
+     * 로컬 저장소는 같은 파일 시스템 안에서 원자적으로 이동하므로 파일을 다시 복사하지 않는다.
+     *
+     * @param source   완성된 임시 파일
+     * @param fileName 저장할 파일 명
+     */
+    void saveLocalFile(Path source, String fileName) throws IOException {
+        try {
+            Path targetLocation = contentAddressedFileStore.isEnabled() ? null : fileStorage.localPath(fileName);
+            if (contentAddressedFileStore.isEnabled()) {
+                try (InputStream input = Files.newInputStream(source)) {
+                    contentAddressedFileStore.put(fileName, input);
+                }
+                targetLocation = contentAddressedFileStore.resolve(fileName);
+            } else if (targetLocation != null) {
+                Files.move(source, targetLocation, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                try (InputStream input = Files.newInputStream(source)) {
+                    fileStorage.put(fileName, input, Files.size(source));
+                }
             }
+            Files.deleteIfExists(source);
+
+            submitThumbnail(fileName, targetLocation);
         } catch (IOException ex) {
             log.error("다음 파일을 저장할 수 없습니다. >>> " + fileName + ". 에러 >>> !", ex);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            throw ex;
         }
-        return fileName;
+    }
+
+    // 이미지 파일이라면 썸네일 생성 작업을 등록한다. (ThumbnailService 에서 비동기로 생성)
+    // 원격 저장소의 경우 로컬 파일이 없으므로 썸네일을 생성하지 않음
+    private void submitThumbnail(String fileName, Path targetLocation) {
+        String fileExt = fileName.replaceAll("^.*\\.(.*)$", "$1");
+        if (targetLocation != null && (fileExt.equalsIgnoreCase("jpg") || fileExt.equalsIgnoreCase("png")
+                || fileExt.equalsIgnoreCase("gif"))) {
+            thumbnailService.submit(fileName, targetLocation, this.fileStorageLocation);
+        }
+    }
+
+    // 업로드 디렉토리 경로
+    Path getFileStorageLocation() {
+        return fileStorageLocation;
     }
 
     // 파일을 다운로드 하기 위해서 리소스에서 읽어들이는 기능
@@ -93,18 +250,32 @@ public class FileService {
         }
     }
 
-    // 이미지의 경우 로딩이 오래 걸릴수 있으니 업로드 할 때부터 크기를 줄인 파일을 생성
-    public void thumbnailFileMake(String oriFileName, File oriFile) throws Exception {
-        File thumbnailFile = new File(uploadPath, "s_" + oriFileName);
+    // 다운로드 할 파일 정보를 반환
+    public StoredFile loadFile(String fileName) throws Exception {
+        if (contentAddressedFileStore.isEnabled()) {
+            Path blobPath = contentAddressedFileStore.resolve(fileName);
+            if (blobPath != null && Files.isRegularFile(blobPath)) {
+                return new StoredFile(fileName, Files.size(blobPath), Files.getLastModifiedTime(blobPath).toMillis(),
+                        blobPath);
+            }
+        }
+        StoredFile storedFile = fileStorage.stat(fileName);
+        if (storedFile == null) {
+            throw new Exception("다음 파일을 찾을 수 없습니다 >>> " + fileName);
+        }
+        return storedFile;
+    }
 
-        // 파일을 읽어들여 n배로 축소
-        BufferedImage bo_img = ImageIO.read(oriFile);
-        double ratio = 3;
-        int width = (int) (bo_img.getWidth() / ratio);
-        int height = (int) (bo_img.getHeight() / ratio);
+    // 파일 일부를 스트림으로 읽음 (로컬 경로가 없는 원격 저장소 다운로드용)
+    public InputStream openFile(String fileName, long start, long length) throws IOException {
+        return fileStorage.getRange(fileName, start, length);
+    }
 
-        Thumbnails.of(oriFile)
-                .size(width, height)
-                .toFile(thumbnailFile);
+    // 파일 삭제 (내용 기반 저장소의 경우 참조 수가 0 이 되면 실제 파일 삭제)
+    public boolean deleteFile(String fileName) throws IOException {
+        if (contentAddressedFileStore.isEnabled() && contentAddressedFileStore.delete(fileName)) {
+            return true;
+        }
+        return fileStorage.delete(fileName);
     }
 }
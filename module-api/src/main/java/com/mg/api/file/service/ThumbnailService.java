@@ -0,0 +1,318 @@
+package com.mg.api.file.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 썸네일 생성 서비스
+ * 업로드 요청 스레드에서 분리해 bounded 작업 큐와 worker pool 에서 썸네일을 생성한다.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    /**
+     * 썸네일 작업 상태
+     */
+    public enum ThumbnailStatus {
+        QUEUED,
+        PROCESSING,
+        RETRYING,
+        DONE,
+        SKIPPED,
+        FAILED,
+        REJECTED;
+    }
+
+    // 기존 방식의 썸네일 (원본의 1/3 크기, s_ 접두사)
+    private static final double LEGACY_RATIO = 3;
+    private static final String LEGACY_PREFIX = "s_";
+
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledExecutorService retryScheduler;
+    private final Cache<String, ThumbnailStatus> statusCache;
+    private final List<Integer> targetSizes;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxPixels;
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    public ThumbnailService(@Value("${custom.thumbnail.pool-size:2}") int poolSize,
+            @Value("${custom.thumbnail.queue-capacity:200}") int queueCapacity,
+            @Value("${custom.thumbnail.sizes:}") List<Integer> targetSizes,
+            @Value("${custom.thumbnail.max-attempts:3}") int maxAttempts,
+            @Value("${custom.thumbnail.retry-backoff-ms:500}") long retryBackoffMs,
+            @Value("${custom.thumbnail.max-pixels:100000000}") long maxPixels) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.statusCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        this.targetSizes = targetSizes == null ? List.of() : List.copyOf(targetSizes);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxPixels = maxPixels;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workerPool.shutdown();
+    }
+
+    /**
+     * 썸네일 생성 작업을 큐에 등록 (원본과 같은 디렉토리에 생성)
+     *
+     * @param fileName 저장된 파일 명 (상태 조회 키)
+     * @param oriFile  원본 이미지 경로
+     * @return 등록 결과 상태
+     */
+    public ThumbnailStatus submit(String fileName, Path oriFile) {
+        return submit(fileName, oriFile, oriFile.getParent());
+    }
+
+    /**
+     * 썸네일 생성 작업을 큐에 등록
+     *
+     * @param fileName  저장된 파일 명 (상태 조회 키)
+     * @param oriFile   원본 이미지 경로
+     * @param targetDir 썸네일을 생성할 디렉토리
+     * @return 등록 결과 상태
+     */
+    public ThumbnailStatus submit(String fileName, Path oriFile, Path targetDir) {
+        statusCache.put(fileName, ThumbnailStatus.QUEUED);
+        return enqueue(fileName, oriFile, targetDir, 1);
+    }
+
+    /**
+     * 썸네일 작업 상태 조회
+     *
+     * @param fileName 저장된 파일 명
+     * @return 작업 상태, 기록이 없으면 null
+     */
+    public ThumbnailStatus findStatus(String fileName) {
+        return statusCache.getIfPresent(fileName);
+    }
+
+    public int getQueueDepth() {
+        return workerPool.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return workerPool.getActiveCount();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getAverageProcessingMillis() {
+        long count = processedCount.sum() + failedCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(processingNanos.sum() / count);
+    }
+
+    public long getMaxProcessingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxProcessingNanos.get());
+    }
+
+    private ThumbnailStatus enqueue(String fileName, Path oriFile, Path targetDir, int attempt) {
+        try {
+            workerPool.execute(() -> process(fileName, oriFile, targetDir, attempt));
+            return ThumbnailStatus.QUEUED;
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            statusCache.put(fileName, ThumbnailStatus.REJECTED);
+            log.warn("썸네일 작업 큐가 가득 찼습니다. >>> {} (queue: {})", fileName, getQueueDepth());
+            return ThumbnailStatus.REJECTED;
+        }
+    }
+
+    private void process(String fileName, Path oriFile, Path targetDir, int attempt) {
+        statusCache.put(fileName, ThumbnailStatus.PROCESSING);
+        long start = System.nanoTime();
+        try {
+            boolean created = makeThumbnails(fileName, oriFile, targetDir);
+            processedCount.increment();
+            statusCache.put(fileName, created ? ThumbnailStatus.DONE : ThumbnailStatus.SKIPPED);
+        } catch (Exception ex) {
+            if (isRetryable(ex) && attempt < maxAttempts) {
+                log.warn("썸네일 생성 실패, 재시도 합니다. >>> {} ({}/{})", fileName, attempt, maxAttempts, ex);
+                statusCache.put(fileName, ThumbnailStatus.RETRYING);
+                retryScheduler.schedule(() -> enqueue(fileName, oriFile, targetDir, attempt + 1),
+                        retryBackoffMs * attempt, TimeUnit.MILLISECONDS);
+            } else {
+                log.error("썸네일 생성에 실패했습니다. >>> {}", fileName, ex);
+                failedCount.increment();
+                statusCache.put(fileName, ThumbnailStatus.FAILED);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            processingNanos.add(elapsed);
+            maxProcessingNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * 재시도 대상 여부
+     * 이미지 자체의 문제(크기 초과, 미지원/손상 포맷)나 런타임 오류는 다시 시도해도 결과가 같으므로
+     * 파일 입출력 중 발생한 IOException 만 재시도한다.
+     */
+    static boolean isRetryable(Exception ex) {
+        return ex instanceof IOException && !(ex instanceof UnprocessableImageException);
+    }
+
+    /**
+     * 썸네일 생성
+     * 이미지 크기는 헤더에서만 읽고, 픽셀 디코딩은 한 번만 수행한다.
+     *
+     * @return 썸네일을 하나 이상 생성했으면 true
+     */
+    private boolean makeThumbnails(String fileName, Path oriFile, Path targetDir) throws IOException {
+        int[] dimension = decode(oriFile, () -> readDimension(oriFile));
+        int width = dimension[0];
+        int height = dimension[1];
+        if ((long) width * height > maxPixels) {
+            throw new UnprocessableImageException("이미지 크기가 허용 범위를 초과했습니다. >>> " + width + "x" + height);
+        }
+
+        // 설정된 크기가 없으면 기존 방식(1/3 축소)으로 생성 (디코딩과 쓰기가 한 번에 수행됨)
+        if (targetSizes.isEmpty()) {
+            decode(oriFile, () -> {
+                Thumbnails.of(oriFile.toFile())
+                        .size(Math.max(1, (int) (width / LEGACY_RATIO)), Math.max(1, (int) (height / LEGACY_RATIO)))
+                        .toFile(targetDir.resolve(LEGACY_PREFIX + fileName).toFile());
+                return null;
+            });
+            return true;
+        }
+
+        // 원본보다 작은 크기만 생성 (확대하지 않음)
+        List<Integer> sizes = new ArrayList<>();
+        for (Integer size : targetSizes) {
+            if (size < Math.max(width, height)) {
+                sizes.add(size);
+            }
+        }
+        if (sizes.isEmpty()) {
+            return false;
+        }
+
+        BufferedImage source = decode(oriFile, () -> ImageIO.read(oriFile.toFile()));
+        if (source == null) {
+            throw new UnprocessableImageException("이미지를 읽을 수 없습니다. >>> " + fileName);
+        }
+        for (Integer size : sizes) {
+            Thumbnails.of(source)
+                    .size(size, size)
+                    .toFile(targetDir.resolve("s" + size + "_" + fileName).toFile());
+        }
+        return true;
+    }
+
+    /**
+     * 픽셀을 디코딩하지 않고 이미지 헤더에서 가로/세로 크기를 읽음
+     */
+    private int[] readDimension(Path oriFile) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(oriFile.toFile())) {
+            if (input == null) {
+                throw new UnprocessableImageException("이미지를 열 수 없습니다. >>> " + oriFile.getFileName());
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnprocessableImageException("지원하지 않는 이미지 형식입니다. >>> " + oriFile.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 원본 디코딩 단계 실행
+     * 디코더 오류(IIOException), 미지원 포맷, 런타임 오류는 손상된 이미지로 보고 재시도하지 않는다.
+     */
+    private static <T> T decode(Path oriFile, ImageDecoder<T> decoder) throws IOException {
+        try {
+            return decoder.decode();
+        } catch (IIOException | UnsupportedFormatException | RuntimeException ex) {
+            throw new UnprocessableImageException("손상되었거나 지원하지 않는 이미지입니다. >>> " + oriFile.getFileName(), ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ImageDecoder<T> {
+        T decode() throws IOException;
+    }
+
+    /**
+     * 재시도해도 결과가 같은 이미지 오류
+     */
+    static class UnprocessableImageException extends IOException {
+
+        UnprocessableImageException(String message) {
+            super(message);
+        }
+
+        UnprocessableImageException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+}
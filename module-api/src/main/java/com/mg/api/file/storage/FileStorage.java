@@ -0,0 +1,76 @@
+package com.mg.api.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 파일 저장소 SPI
+ * 업로드 파일의 저장 위치(로컬 디스크, S3 호환 오브젝트 스토리지 등)를 추상화한다.
+ * 읽기는 모두 스트림으로 제공되며 파일 전체를 메모리에 올리지 않는다.
+ */
+public interface FileStorage {
+
+    /**
+     * 파일 저장 (같은 key 가 있으면 덮어쓰기)
+     *
+     * @param key           저장 key (파일 명)
+     * @param input         파일 내용
+     * @param contentLength 파일 크기, 모르면 -1
+     */
+    void put(String key, InputStream input, long contentLength) throws IOException;
+
+    /**
+     * 파일 전체 읽기
+     *
+     * @param key 저장 key
+     * @return 파일 내용 스트림 (호출한 쪽에서 닫아야 함)
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * 파일 일부 읽기
+     *
+     * @param key    저장 key
+     * @param start  시작 위치 (byte)
+     * @param length 읽을 길이 (byte)
+     * @return 파일 내용 스트림 (호출한 쪽에서 닫아야 함)
+     */
+    InputStream getRange(String key, long start, long length) throws IOException;
+
+    /**
+     * 파일 정보 조회
+     *
+     * @param key 저장 key
+     * @return 파일 정보, 없으면 null
+     */
+    StoredFile stat(String key) throws IOException;
+
+    /**
+     * 파일 삭제
+     *
+     * @param key 저장 key
+     * @return 삭제 여부
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 파일 목록 조회
+     *
+     * @param prefix key 접두사 (전체 조회 시 빈 문자열)
+     * @return key 목록
+     */
+    List<String> list(String prefix) throws IOException;
+
+    /**
+     * 로컬 디스크에 있는 경우 파일 경로 (sendfile, 썸네일 생성 등에 사용)
+     *
+     * @param key 저장 key
+     * @return 로컬 파일 경로, 로컬 저장소가 아니면 null
+     */
+    default Path localPath(String key) throws IOException {
+        return null;
+    }
+
+}
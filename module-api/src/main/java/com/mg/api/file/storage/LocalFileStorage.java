@@ -0,0 +1,106 @@
+package com.mg.api.file.storage;
+
+import com.google.common.io.ByteStreams;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크 파일 저장소 ({upload-path} 디렉토리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+
+    private final Path root;
+
+    public LocalFileStorage(@Value("${upload-path}") String uploadPath) throws IOException {
+        this.root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public void put(String key, InputStream input, long contentLength) throws IOException {
+        Path target = resolve(key);
+        // 임시 파일에 쓴 후 이동해서 쓰는 도중의 파일이 읽히지 않도록 함
+        Path temp = root.resolve("." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.copy(input, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        try {
+            channel.position(start);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+        return ByteStreams.limit(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public StoredFile stat(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        return new StoredFile(key, Files.size(path), Files.getLastModifiedTime(path).toMillis(), path);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(Files::isRegularFile)
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && !name.startsWith("."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Override
+    public Path localPath(String key) throws IOException {
+        return resolve(key);
+    }
+
+    // 저장 디렉토리 밖의 경로 접근은 차단
+    private Path resolve(String key) throws IOException {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IOException("허용되지 않은 파일 경로입니다. >>> " + key);
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.mg.api.file.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * S3 호환 오브젝트 스토리지 파일 저장소
+ * endpoint 를 지정하면 MinIO 등 로컬 S3 호환 서버에서도 동작한다. (path-style 접근)
+ * 큰 파일은 multipart 로 나누어 여러 part 를 병렬 업로드하며,
+ * 동시에 메모리에 올라가는 part 수를 제한해 파일 전체를 메모리에 올리지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.storage.type", havingValue = "s3")
+public class S3FileStorage implements FileStorage {
+
+    // S3 multipart 최소 part 크기 (마지막 part 제외)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final int partSize;
+    private final int parallelParts;
+    private final ExecutorService partUploadExecutor;
+
+    public S3FileStorage(@Value("${custom.storage.s3.endpoint:}") String endpoint,
+            @Value("${custom.storage.s3.region:us-east-1}") String region,
+            @Value("${custom.storage.s3.bucket}") String bucket,
+            @Value("${custom.storage.s3.access-key}") String accessKey,
+            @Value("${custom.storage.s3.secret-key}") String secretKey,
+            @Value("${custom.storage.s3.part-size:8388608}") int partSize,
+            @Value("${custom.storage.s3.parallel-parts:4}") int parallelParts) {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3Client = builder.build();
+        this.bucket = bucket;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+        this.parallelParts = Math.max(1, parallelParts);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.partUploadExecutor = Executors.newFixedThreadPool(this.parallelParts, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partUploadExecutor.shutdown();
+        s3Client.close();
+    }
+
+    @Override
+    public void put(String key, InputStream input, long contentLength) throws IOException {
+        try {
+            if (contentLength >= 0 && contentLength <= partSize) {
+                s3Client.putObject(request -> request.bucket(bucket).key(key),
+                        RequestBody.fromInputStream(input, contentLength));
+                return;
+            }
+            putMultipart(key, input);
+        } catch (S3Exception ex) {
+            throw new IOException("파일을 저장할 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        try {
+            return s3Client.getObject(request -> request.bucket(bucket).key(key));
+        } catch (S3Exception ex) {
+            throw new IOException("파일을 읽을 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            String range = "bytes=" + start + "-" + (start + length - 1);
+            return s3Client.getObject(request -> request.bucket(bucket).key(key).range(range));
+        } catch (S3Exception ex) {
+            throw new IOException("파일을 읽을 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    @Override
+    public StoredFile stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3Client.headObject(request -> request.bucket(bucket).key(key));
+            return new StoredFile(key, head.contentLength(), head.lastModified().toEpochMilli(), null);
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("파일 정보를 조회할 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+            return true;
+        } catch (S3Exception ex) {
+            throw new IOException("파일을 삭제할 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        try {
+            return s3Client.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(prefix))
+                    .contents()
+                    .stream()
+                    .map(S3Object::key)
+                    .toList();
+        } catch (S3Exception ex) {
+            throw new IOException("파일 목록을 조회할 수 없습니다. >>> " + prefix, ex);
+        }
+    }
+
+    /**
+     * multipart 업로드
+     * part 를 순서대로 읽어 병렬로 업로드하고, 동시에 읽어둔 part 수는 parallelParts 로 제한한다.
+     * part 업로드가 하나라도 실패하면 남은 입력을 더 읽지 않고 바로 취소한다.
+     */
+    private void putMultipart(String key, InputStream input) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(request -> request.bucket(bucket).key(key)).uploadId();
+        Semaphore inFlightParts = new Semaphore(parallelParts);
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        List<CompletedPart> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            while (true) {
+                inFlightParts.acquire();
+                // 완료된 part 결과를 먼저 확인 (실패한 part 가 있으면 ExecutionException)
+                collectCompleted(futures, parts);
+                byte[] buffer = input.readNBytes(partSize);
+                if (buffer.length == 0 && partNumber > 1) {
+                    inFlightParts.release();
+                    break;
+                }
+
+                int currentPart = partNumber++;
+                futures.add(partUploadExecutor.submit(() -> {
+                    try {
+                        String eTag = s3Client.uploadPart(request -> request.bucket(bucket).key(key)
+                                .uploadId(uploadId).partNumber(currentPart), RequestBody.fromBytes(buffer)).eTag();
+                        return CompletedPart.builder().partNumber(currentPart).eTag(eTag).build();
+                    } finally {
+                        inFlightParts.release();
+                    }
+                }));
+
+                if (buffer.length < partSize) {
+                    break;
+                }
+            }
+
+            for (Future<CompletedPart> future : futures) {
+                parts.add(future.get());
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.completeMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            abortMultipart(key, uploadId, futures);
+            throw new IOException("파일 업로드가 중단되었습니다. >>> " + key, ex);
+        } catch (ExecutionException | IOException | RuntimeException ex) {
+            abortMultipart(key, uploadId, futures);
+            throw new IOException("파일을 저장할 수 없습니다. >>> " + key, ex);
+        }
+    }
+
+    private void collectCompleted(List<Future<CompletedPart>> futures, List<CompletedPart> parts)
+            throws InterruptedException, ExecutionException {
+        Iterator<Future<CompletedPart>> iterator = futures.iterator();
+        while (iterator.hasNext()) {
+            Future<CompletedPart> future = iterator.next();
+            if (future.isDone()) {
+                parts.add(future.get());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void abortMultipart(String key, String uploadId, List<Future<CompletedPart>> futures) {
+        futures.forEach(future -> future.cancel(true));
+        try {
+            s3Client.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (S3Exception ex) {
+            log.error("multipart 업로드 취소에 실패했습니다. >>> {}", key, ex);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.mg.api.file.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 저장된 파일 정보
+ */
+@Getter
+@AllArgsConstructor
+public class StoredFile {
+
+    private final String key;
+    private final long size;
+    private final long lastModified;
+    // 로컬 디스크에 있는 경우 파일 경로, 아니면 null
+    private final Path localPath;
+
+}
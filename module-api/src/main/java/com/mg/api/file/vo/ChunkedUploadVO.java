@@ -0,0 +1,21 @@
+package com.mg.api.file.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@ToString
+public class ChunkedUploadVO {
+    private String uploadId;
+    private String fileOriginalName;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    // 수신 완료된 chunk 번호 (0 부터 시작, offset = 번호 * chunkSize)
+    private List<Integer> receivedChunks;
+    private long receivedBytes;
+}
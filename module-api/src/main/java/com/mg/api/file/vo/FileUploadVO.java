@@ -13,11 +13,23 @@ public class FileUploadVO {
     private String fileDownloadUri;
     private String fileExt;
     private long size;
+    // 다중 업로드 시 파일 별 처리 결과
+    private boolean success;
+    private String errorMessage;
 
     public FileUploadVO(String fileName, String fileOriginalName, String fileExt, String fileDownloadUri) {
         this.fileName = fileName;
         this.fileOriginalName = fileOriginalName;
         this.fileExt = fileExt;
         this.fileDownloadUri = fileDownloadUri;
+        this.success = true;
+    }
+
+    // 업로드 실패 결과 생성
+    public static FileUploadVO failed(String fileOriginalName, String errorMessage) {
+        FileUploadVO vo = new FileUploadVO(null, fileOriginalName, null, null);
+        vo.setSuccess(false);
+        vo.setErrorMessage(errorMessage);
+        return vo;
     }
 }
@@ -0,0 +1,269 @@
+package com.mg.api.login.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import com.mg.core.dto.google.GoogleOauthDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google id_token 검증기
+ * tokeninfo 엔드포인트를 호출하지 않고, 캐싱한 JWKS 공개키로 서명과 claim(iss, aud, exp)을 직접 검증한다.
+ * - 공개키 목록은 응답의 Cache-Control max-age 동안 캐싱하고, 만료 전에 백그라운드에서 갱신
+ * - 알 수 없는 kid 가 들어오면 즉시 갱신 (최소 간격 제한)
+ * - 동시에 여러 요청이 갱신을 요청해도 실제 조회는 한 번만 수행
+ */
+@Slf4j
+@Component
+public class GoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final OAuthHttpClient oAuthHttpClient;
+    private final ObjectMapper objectMapper;
+    private final String clientId;
+    private final String discoveryUri;
+    private final long defaultMaxAgeMillis;
+    private final long refreshAheadMillis;
+    private final long minRefreshIntervalMillis;
+
+    // kid -> 공개키
+    private volatile Map<String, PublicKey> keys = Map.of();
+    // kid -> 해당 공개키로 서명을 검증하는 parser (keys 와 함께 갱신)
+    private volatile Map<String, JwtParser> parsers = Map.of();
+    private volatile String jwksUri;
+    private volatile long expiresAt;
+    private volatile long lastRefreshAt;
+    // 진행 중인 조회 (동시 요청 중복 제거)
+    private final AtomicReference<Mono<Map<String, PublicKey>>> inFlight = new AtomicReference<>();
+
+    public GoogleIdTokenVerifier(OAuthHttpClient oAuthHttpClient, ObjectMapper objectMapper,
+            @Value("${google.client-id}") String clientId,
+            @Value("${google.discovery-uri:https://accounts.google.com/.well-known/openid-configuration}") String discoveryUri,
+            @Value("${google.jwks.default-max-age-seconds:3600}") long defaultMaxAgeSeconds,
+            @Value("${google.jwks.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+            @Value("${google.jwks.min-refresh-interval-seconds:30}") long minRefreshIntervalSeconds) {
+        this.oAuthHttpClient = oAuthHttpClient;
+        this.objectMapper = objectMapper;
+        this.clientId = clientId;
+        this.discoveryUri = discoveryUri;
+        this.defaultMaxAgeMillis = Duration.ofSeconds(defaultMaxAgeSeconds).toMillis();
+        this.refreshAheadMillis = Duration.ofSeconds(refreshAheadSeconds).toMillis();
+        this.minRefreshIntervalMillis = Duration.ofSeconds(minRefreshIntervalSeconds).toMillis();
+    }
+
+    /**
+     * id_token 검증
+     *
+     * @param idToken Google id_token
+     * @return 검증된 회원정보, 유효하지 않은 토큰이면 MGException(INVALID_TOKEN)
+     */
+    public Mono<GoogleOauthDTO> verify(String idToken) {
+        return Mono.defer(() -> {
+            JsonNode header;
+            try {
+                header = readHeader(idToken);
+            } catch (IOException | IllegalArgumentException ex) {
+                return Mono.error(new MGException(ErrorCode.INVALID_TOKEN));
+            }
+            String kid = header.path("kid").asText("");
+            boolean cacheValid = !keys.isEmpty() && System.currentTimeMillis() < expiresAt;
+            if (cacheValid && keys.containsKey(kid)) {
+                return Mono.just(parse(idToken, header));
+            }
+            // 캐시가 비었거나 만료되었거나, 키가 교체되어 알 수 없는 kid 인 경우 갱신 후 검증
+            // 갱신에 실패하면 기존 공개키로 검증 (stale-if-error)
+            return refreshKeys(cacheValid)
+                    .onErrorResume(ex -> keys.isEmpty() ? Mono.error(ex) : Mono.just(keys))
+                    .map(refreshed -> parse(idToken, header));
+        });
+    }
+
+    /**
+     * 만료 전에 백그라운드에서 공개키 갱신
+     */
+    @Scheduled(fixedDelayString = "${google.jwks.check-interval-ms:60000}")
+    public void refreshInBackground() {
+        if (!keys.isEmpty() && System.currentTimeMillis() >= expiresAt - refreshAheadMillis) {
+            refreshKeys(false).subscribe(
+                    refreshed -> log.debug("Google 공개키를 갱신했습니다. >>> {}", refreshed.keySet()),
+                    ex -> log.warn("Google 공개키 갱신에 실패했습니다.", ex));
+        }
+    }
+
+    public int getCachedKeyCount() {
+        return keys.size();
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * 공개키 갱신 (진행 중인 조회가 있으면 그 결과를 공유)
+     *
+     * @param rateLimited 최소 갱신 간격 적용 여부 (유효한 캐시가 있는데 알 수 없는 kid 가 들어온 경우)
+     */
+    private Mono<Map<String, PublicKey>> refreshKeys(boolean rateLimited) {
+        if (rateLimited && System.currentTimeMillis() - lastRefreshAt < minRefreshIntervalMillis) {
+            return Mono.just(keys);
+        }
+        while (true) {
+            Mono<Map<String, PublicKey>> current = inFlight.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<Map<String, PublicKey>> fetch = fetchKeys()
+                    .doFinally(signal -> inFlight.set(null))
+                    .cache();
+            if (inFlight.compareAndSet(null, fetch)) {
+                return fetch;
+            }
+        }
+    }
+
+    private Mono<Map<String, PublicKey>> fetchKeys() {
+        return resolveJwksUri()
+                .flatMap(uri -> oAuthHttpClient.executeAsync(OAuthProvider.GOOGLE, webClient -> webClient.get()
+                        .uri(uri)
+                        .retrieve()
+                        .toEntity(JsonNode.class)))
+                .map(this::updateKeys);
+    }
+
+    // 제공자 메타데이터(openid-configuration)에서 jwks_uri 조회 (한 번만 조회)
+    private Mono<String> resolveJwksUri() {
+        if (jwksUri != null) {
+            return Mono.just(jwksUri);
+        }
+        return oAuthHttpClient.executeAsync(OAuthProvider.GOOGLE, webClient -> webClient.get()
+                .uri(discoveryUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(metadata -> {
+                    jwksUri = metadata.path("jwks_uri").asText();
+                    return jwksUri;
+                });
+    }
+
+    private Map<String, PublicKey> updateKeys(ResponseEntity<JsonNode> response) {
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (JsonNode jwk : response.getBody().path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            try {
+                loaded.put(jwk.path("kid").asText(), toPublicKey(jwk));
+            } catch (Exception ex) {
+                log.warn("Google 공개키를 읽을 수 없습니다. >>> {}", jwk.path("kid").asText(), ex);
+            }
+        }
+
+        // 서명 키는 verify 에서 읽은 헤더의 kid 로 고르므로 kid 별로 parser 를 만들어 둔다.
+        // (SigningKeyResolver 는 raw JwsHeader 를 받는 API 라 사용하지 않음)
+        Map<String, JwtParser> loadedParsers = new HashMap<>();
+        loaded.forEach((kid, key) -> loadedParsers.put(kid, Jwts.parserBuilder()
+                .requireAudience(clientId)
+                .setAllowedClockSkewSeconds(60)
+                .setSigningKey(key)
+                .build()));
+
+        long now = System.currentTimeMillis();
+        parsers = Map.copyOf(loadedParsers);
+        keys = Map.copyOf(loaded);
+        expiresAt = now + maxAgeMillis(response.getHeaders());
+        lastRefreshAt = now;
+        return keys;
+    }
+
+    private long maxAgeMillis(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1))).toMillis();
+            }
+        }
+        return defaultMaxAgeMillis;
+    }
+
+    private PublicKey toPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+        BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+
+    private JsonNode readHeader(String idToken) throws IOException {
+        int dot = idToken.indexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("invalid token");
+        }
+        return objectMapper.readTree(Base64.getUrlDecoder().decode(idToken.substring(0, dot)));
+    }
+
+    private GoogleOauthDTO parse(String idToken, JsonNode header) {
+        JwtParser parser = parsers.get(header.path("kid").asText(""));
+        if (parser == null) {
+            log.debug("알 수 없는 Google 공개키입니다. >>> {}", header.path("kid").asText(""));
+            throw new MGException(ErrorCode.INVALID_TOKEN);
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("유효하지 않은 Google id_token 입니다. >>> {}", ex.getMessage());
+            throw new MGException(ErrorCode.INVALID_TOKEN);
+        }
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            throw new MGException(ErrorCode.INVALID_TOKEN);
+        }
+
+        GoogleOauthDTO info = new GoogleOauthDTO();
+        info.setIss(claims.getIssuer());
+        info.setAzp(claims.get("azp", String.class));
+        info.setAud(claims.getAudience());
+        info.setSub(claims.getSubject());
+        info.setEmail(claims.get("email", String.class));
+        info.setEmail_verified(String.valueOf(claims.get("email_verified")));
+        info.setAt_hash(claims.get("at_hash", String.class));
+        info.setName(claims.get("name", String.class));
+        info.setPicture(claims.get("picture", String.class));
+        info.setGiven_name(claims.get("given_name", String.class));
+        info.setFamily_name(claims.get("family_name", String.class));
+        info.setLocale(claims.get("locale", String.class));
+        info.setIat(String.valueOf(claims.getIssuedAt().getTime() / 1000));
+        info.setExp(String.valueOf(claims.getExpiration().getTime() / 1000));
+        info.setAlg(header.path("alg").asText(null));
+        info.setKid(header.path("kid").asText(null));
+        info.setTyp(header.path("typ").asText(null));
+        return info;
+    }
+
+}
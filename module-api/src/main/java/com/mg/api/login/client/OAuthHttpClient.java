@@ -0,0 +1,228 @@
+package com.mg.api.login.client;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 소셜 로그인 공용 HTTP 클라이언트 (WebClient)
+ * - 모든 제공자가 커넥션 풀(keep-alive)을 공유해 콜백마다 TLS 연결을 새로 맺지 않음
+ * - 제공자 별 connect / read timeout
+ * - 제공자 별 동시 요청 수 제한 (bulkhead), 한 제공자의 장애가 다른 제공자의 요청을 막지 않도록 함
+ * - 제공자 별 요청 수, 실패 수, 거절 수, 응답 시간 지표
+ */
+@Slf4j
+@Component
+public class OAuthHttpClient {
+
+    /**
+     * 제공자 별 요청 지표
+     */
+    public static class ProviderMetrics {
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        public long getRequestCount() {
+            return requestCount.sum();
+        }
+
+        public long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount.sum();
+        }
+
+        public long getAverageLatencyMillis() {
+            long count = requestCount.sum();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / count);
+        }
+
+        public long getMaxLatencyMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+        }
+
+        private void record(long elapsedNanos, boolean success) {
+            requestCount.increment();
+            latencyNanos.add(elapsedNanos);
+            maxLatencyNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (!success) {
+                errorCount.increment();
+            }
+        }
+    }
+
+    /**
+     * bulkhead 사용 권한 (요청이 끝나거나 취소되면 반납하고 지표 기록)
+     */
+    private static final class BulkheadPermit {
+        private final Semaphore bulkhead;
+        private final ProviderMetrics providerMetrics;
+        private final long start = System.nanoTime();
+        private volatile boolean success;
+
+        private BulkheadPermit(Semaphore bulkhead, ProviderMetrics providerMetrics) {
+            this.bulkhead = bulkhead;
+            this.providerMetrics = providerMetrics;
+        }
+
+        private void release() {
+            bulkhead.release();
+            providerMetrics.record(System.nanoTime() - start, success);
+        }
+    }
+
+    private final Map<OAuthProvider, Semaphore> bulkheads = new EnumMap<>(OAuthProvider.class);
+    private final Map<OAuthProvider, ProviderMetrics> metrics = new EnumMap<>(OAuthProvider.class);
+
+    private final ConnectionProvider connectionProvider;
+    private final Map<OAuthProvider, WebClient> webClients = new EnumMap<>(OAuthProvider.class);
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    public OAuthHttpClient(Environment environment,
+            @Value("${custom.oauth.pool.max-total:100}") int maxTotal,
+            @Value("${custom.oauth.pool.time-to-live-seconds:300}") long timeToLiveSeconds,
+            @Value("${custom.oauth.pool.idle-evict-seconds:30}") long idleEvictSeconds,
+            @Value("${custom.oauth.max-retries:2}") int maxRetries,
+            @Value("${custom.oauth.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.connectionProvider = ConnectionProvider.builder("oauth")
+                .maxConnections(maxTotal)
+                .maxIdleTime(Duration.ofSeconds(idleEvictSeconds))
+                .maxLifeTime(Duration.ofSeconds(timeToLiveSeconds))
+                .evictInBackground(Duration.ofSeconds(idleEvictSeconds))
+                .build();
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+
+        for (OAuthProvider provider : OAuthProvider.values()) {
+            String prefix = "custom.oauth." + provider.getPropertyKey() + ".";
+            int connectTimeoutMs = environment.getProperty(prefix + "connect-timeout-ms", Integer.class, 3000);
+            int readTimeoutMs = environment.getProperty(prefix + "read-timeout-ms", Integer.class, 5000);
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 20);
+
+            // 커넥션 풀은 공유하고 timeout 만 제공자 별로 지정
+            reactor.netty.http.client.HttpClient reactiveClient = reactor.netty.http.client.HttpClient
+                    .create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                    .responseTimeout(Duration.ofMillis(readTimeoutMs));
+            webClients.put(provider, WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(reactiveClient))
+                    .build());
+            bulkheads.put(provider, new Semaphore(maxConcurrent));
+            metrics.put(provider, new ProviderMetrics());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * bulkhead, 재시도, 지표 수집을 적용해 비동기 요청 실행
+     * 응답을 기다리는 동안 요청 스레드를 점유하지 않으며, 연결 실패 / timeout / 5xx 응답만 재시도한다.
+     * 재시도해도 안전한 조회(GET) 요청에만 사용한다.
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param call     제공자 전용 WebClient 로 수행할 요청
+     * @return 요청 결과
+     */
+    public <T> Mono<T> executeAsync(OAuthProvider provider, Function<WebClient, Mono<T>> call) {
+        return executeAsync(provider, true, call);
+    }
+
+    /**
+     * bulkhead, 지표 수집을 적용해 비동기 요청 실행
+     * 인가 코드 토큰 교환(POST)처럼 한 번만 유효한 요청은 retryable 을 false 로 지정한다.
+     * (제공자가 코드를 이미 소비한 뒤 응답만 유실된 경우 재시도하면 invalid_grant 로 실패하고 원인이 가려짐)
+     *
+     * @param provider  소셜 로그인 제공자
+     * @param retryable 실패 시 재시도 여부
+     * @param call      제공자 전용 WebClient 로 수행할 요청
+     * @return 요청 결과
+     */
+    public <T> Mono<T> executeAsync(OAuthProvider provider, boolean retryable, Function<WebClient, Mono<T>> call) {
+        // 요청 생성(call) 중 예외가 나거나 구독이 취소되어도 권한이 반납되도록 Mono.using 으로 관리
+        return Mono.using(() -> acquire(provider),
+                permit -> {
+                    Mono<T> request = call.apply(webClients.get(provider));
+                    if (retryable) {
+                        request = request.retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(retryBackoffMs))
+                                .filter(this::isRetryable));
+                    }
+                    return request.doOnSuccess(result -> permit.success = true);
+                },
+                BulkheadPermit::release);
+    }
+
+    // 비동기 요청은 대기하지 않고 바로 거절
+    private BulkheadPermit acquire(OAuthProvider provider) {
+        Semaphore bulkhead = bulkheads.get(provider);
+        ProviderMetrics providerMetrics = metrics.get(provider);
+        if (!bulkhead.tryAcquire()) {
+            providerMetrics.rejectedCount.increment();
+            log.warn("{} 동시 요청 수 제한을 초과했습니다.", provider);
+            throw new MGException(ErrorCode.OAUTH_BUSY);
+        }
+        return new BulkheadPermit(bulkhead, providerMetrics);
+    }
+
+    /**
+     * 토큰 교환 응답에서 받은 토큰 확인
+     * 제공자가 오류를 200 응답 본문으로 돌려주는 경우(ex. 네이버 error / error_description) 토큰이 비어 있으므로 인증 실패로 처리한다.
+     *
+     * @param provider 소셜 로그인 제공자
+     * @param token    응답에서 꺼낸 토큰
+     * @return 비어 있지 않은 토큰
+     */
+    public static Mono<String> requireToken(OAuthProvider provider, String token) {
+        if (token == null || token.isBlank()) {
+            log.warn("{} 토큰 교환 응답에 토큰이 없습니다.", provider);
+            return Mono.error(new MGException(ErrorCode.OAUTH_TOKEN_NOT_ISSUED));
+        }
+        return Mono.just(token);
+    }
+
+    public ProviderMetrics getMetrics(OAuthProvider provider) {
+        return metrics.get(provider);
+    }
+
+    public int getAvailableConcurrency(OAuthProvider provider) {
+        return bulkheads.get(provider).availablePermits();
+    }
+
+    private boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return ex instanceof WebClientRequestException || ex instanceof TimeoutException;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.mg.api.login.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 소셜 로그인 제공자
+ * 제공자 별 설정은 custom.oauth.{propertyKey}.* 로 지정한다.
+ */
+@Getter
+@AllArgsConstructor
+public enum OAuthProvider {
+    KAKAO("kakao"),
+    NAVER("naver"),
+    GOOGLE("google");
+
+    private final String propertyKey;
+}
@@ -1,5 +1,8 @@
 package com.mg.api.login.controller;
 
+import com.mg.api.login.client.GoogleIdTokenVerifier;
+import com.mg.api.login.client.OAuthHttpClient;
+import com.mg.api.login.client.OAuthProvider;
 import com.mg.core.dto.google.GoogleOauthDTO;
 import com.mg.core.dto.google.GoogleRequestDTO;
 import com.mg.core.dto.google.GoogleResponseDTO;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,6 +22,8 @@ import java.util.Map;
 @RestController
 public class GoogleLoginController {
 
+        private final OAuthHttpClient oAuthHttpClient;
+        private final GoogleIdTokenVerifier googleIdTokenVerifier;
         @Value("${google.callBack-uri}")
         private String callBackUri;
         @Value("${google.client-id}")
@@ -26,6 +32,13 @@ public class GoogleLoginController {
         private String clientSecret;
         @Value("${google.state}")
         private String googleState;
+        @Value("${google.token-uri:https://oauth2.googleapis.com/token}")
+        private String tokenUri;
+
+        public GoogleLoginController(OAuthHttpClient oAuthHttpClient, GoogleIdTokenVerifier googleIdTokenVerifier) {
+                this.oAuthHttpClient = oAuthHttpClient;
+                this.googleIdTokenVerifier = googleIdTokenVerifier;
+        }
 
         @GetMapping("/google/login")
         public String google_login(HttpServletRequest request) {
@@ -43,15 +56,39 @@ public class GoogleLoginController {
 
         /**
          * Access Token 받기
+         * 외부 요청을 기다리는 동안 요청 스레드를 반환한다. (비동기 처리)
          * 
          * @param request
          * @return
          */
         @GetMapping("/google/callback")
         @ResponseBody
-        public String login(HttpServletRequest request) {
+        public Mono<String> login(HttpServletRequest request) {
                 String code = request.getParameter("code");
-                RestTemplate restTemplate = new RestTemplate();
+
+                // id_token 은 캐싱한 공개키로 검증한 뒤 전달
+                return requestToken(code)
+                                .flatMap(idToken -> googleIdTokenVerifier.verify(idToken)
+                                                .thenReturn("Bearer " + idToken));
+        }
+
+        /**
+         * 토큰 발급 후 회원정보 조회 (JSON)
+         * 
+         * @param request
+         * @return
+         */
+        @GetMapping("/google/callback/profile")
+        @ResponseBody
+        public Mono<GoogleOauthDTO> loginProfile(HttpServletRequest request) {
+                String code = request.getParameter("code");
+
+                // tokeninfo 를 호출하지 않고 id_token 을 직접 검증해 회원정보를 얻음
+                return requestToken(code)
+                                .flatMap(googleIdTokenVerifier::verify);
+        }
+
+        private Mono<String> requestToken(String code) {
                 GoogleRequestDTO param = GoogleRequestDTO
                                 .builder()
                                 .clientId(clientId)
@@ -60,14 +97,12 @@ public class GoogleLoginController {
                                 .redirectUri(callBackUri)
                                 .grantType("authorization_code").build();
 
-                ResponseEntity<GoogleResponseDTO> resultEntity = restTemplate.postForEntity(
-                                "https://oauth2.googleapis.com/token",
-                                param, GoogleResponseDTO.class);
-
-                String jwtToken = resultEntity.getBody().getId_token();
-                String data = "Bearer " + jwtToken;
-
-                return data;
+                return oAuthHttpClient.executeAsync(OAuthProvider.GOOGLE, false, webClient -> webClient.post()
+                                .uri(tokenUri)
+                                .bodyValue(param)
+                                .retrieve()
+                                .bodyToMono(GoogleResponseDTO.class))
+                                .flatMap(result -> OAuthHttpClient.requireToken(OAuthProvider.GOOGLE, result.getId_token()));
         }
 
         /*
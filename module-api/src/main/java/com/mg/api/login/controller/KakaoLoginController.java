@@ -1,8 +1,11 @@
 package com.mg.api.login.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.mg.api.login.client.OAuthHttpClient;
+import com.mg.api.login.client.OAuthProvider;
 import com.mg.core.dto.kakao.KakaoOauthLoginDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -11,13 +14,14 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,7 +30,7 @@ import java.util.Map;
 @RestController
 public class KakaoLoginController {
 
-    private final RestTemplate restTemplate;
+    private final OAuthHttpClient oAuthHttpClient;
     @Value("${kakao.callBack-uri}")
     private String callBackUri;
     @Value("${kakao.client-id}")
@@ -35,9 +39,13 @@ public class KakaoLoginController {
     private String clientSecret;
     @Value("${kakao.state}")
     private String kakaoState;
+    @Value("${kakao.token-uri:https://kauth.kakao.com/oauth/token}")
+    private String tokenUri;
+    @Value("${kakao.user-info-uri:https://kapi.kakao.com/v2/user/me}")
+    private String userInfoUri;
 
-    public KakaoLoginController(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public KakaoLoginController(OAuthHttpClient oAuthHttpClient) {
+        this.oAuthHttpClient = oAuthHttpClient;
     }
 
     @GetMapping("/kakao/login")
@@ -52,16 +60,36 @@ public class KakaoLoginController {
 
     /**
      * Access Token 값 받기
+     * 외부 요청을 기다리는 동안 요청 스레드를 반환한다. (비동기 처리)
      * 
      * @param request
      * @return
      */
     @GetMapping("/kakao/callback")
     @ResponseBody
-    public String login(HttpServletRequest request) {
+    public Mono<String> login(HttpServletRequest request) {
         String code = request.getParameter("code");
-        String requestURL = "https://kauth.kakao.com/oauth/token";
 
+        return requestAccessToken(code)
+                .map(accessToken -> "Bearer " + accessToken);
+    }
+
+    /**
+     * Access Token 발급 후 회원정보 조회 (JSON)
+     * 
+     * @param request
+     * @return
+     */
+    @GetMapping("/kakao/callback/profile")
+    @ResponseBody
+    public Mono<KakaoOauthLoginDTO> loginProfile(HttpServletRequest request) {
+        String code = request.getParameter("code");
+
+        return requestAccessToken(code)
+                .flatMap(this::getUserInfo);
+    }
+
+    private Mono<String> requestAccessToken(String code) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("grant_type", "authorization_code");
         params.add("client_id", clientId);
@@ -69,25 +97,41 @@ public class KakaoLoginController {
         params.add("code", code);
         params.add("redirect_uri", callBackUri);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        HttpEntity<?> entity = new HttpEntity<>(params, headers);
-        String data = null;
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
+        return oAuthHttpClient.executeAsync(OAuthProvider.KAKAO, false, webClient -> webClient.post()
+                .uri(tokenUri)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(params))
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .flatMap(resMap -> OAuthHttpClient.requireToken(OAuthProvider.KAKAO, resMap.path("access_token").asText()));
+    }
 
-            ResponseEntity<HashMap> result = restTemplate.postForEntity(requestURL, entity, HashMap.class);
-            Map<String, String> resMap = result.getBody();
+    private Mono<KakaoOauthLoginDTO> getUserInfo(String accessToken) {
+        return oAuthHttpClient.executeAsync(OAuthProvider.KAKAO, webClient -> webClient.get()
+                .uri(userInfoUri)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(this::toKakaoOauthLoginDTO);
+    }
 
-            System.out.println(resMap);
-            String accessToken = resMap.get("access_token");
-            data = "Bearer " + accessToken;
+    private KakaoOauthLoginDTO toKakaoOauthLoginDTO(JsonNode element) {
+        KakaoOauthLoginDTO data = new KakaoOauthLoginDTO();
+        JsonNode kakaoAccount = element.path("kakao_account");
+        JsonNode profile = kakaoAccount.path("profile");
+        JsonNode properties = element.path("properties");
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        data.setId(element.path("id").asText(null));
+        data.setConnected_at(element.path("connected_at").asText(null));
+        data.setProfile_nickname_needs_agreement(kakaoAccount.path("profile_nickname_needs_agreement").asText(null));
+        data.setProfile_image_needs_agreement(kakaoAccount.path("profile_image_needs_agreement").asText(null));
+        data.setNickname(profile.path("nickname").asText(null));
+        data.setThumbnail_image_url(profile.path("thumbnail_image_url").asText(null));
+        data.setProfile_image_url(profile.path("profile_image_url").asText(null));
+        data.setIs_default_image(profile.path("is_default_image").asText(null));
+        data.setIs_default_nickname(profile.path("is_default_nickname").asText(null));
+        data.setProfile_image(properties.path("profile_image").asText(null));
+        data.setThumbnail_image(properties.path("thumbnail_image").asText(null));
         return data;
     }
 
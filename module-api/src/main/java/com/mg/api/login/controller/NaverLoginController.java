@@ -1,5 +1,9 @@
 package com.mg.api.login.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mg.api.login.client.OAuthHttpClient;
+import com.mg.api.login.client.OAuthProvider;
 import com.mg.core.dto.naver.NaverOauthDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -10,11 +14,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @RestController
 public class NaverLoginController {
 
+    private final OAuthHttpClient oAuthHttpClient;
+    private final ObjectMapper objectMapper;
     @Value("${naver.callBack-uri}")
     private String callBackUri;
     @Value("${naver.client-id}")
@@ -23,6 +30,15 @@ public class NaverLoginController {
     private String clientSecret;
     @Value("${naver.state}")
     private String naverState;
+    @Value("${naver.token-uri:https://nid.naver.com/oauth2.0/token}")
+    private String tokenUri;
+    @Value("${naver.user-info-uri:https://openapi.naver.com/v1/nid/me}")
+    private String userInfoUri;
+
+    public NaverLoginController(OAuthHttpClient oAuthHttpClient, ObjectMapper objectMapper) {
+        this.oAuthHttpClient = oAuthHttpClient;
+        this.objectMapper = objectMapper;
+    }
 
     @GetMapping("/naver/login")
     public String naver_login(HttpServletRequest request) {
@@ -38,41 +54,52 @@ public class NaverLoginController {
 
     }
 
+    /**
+     * Access Token 값 받기
+     * 외부 요청을 기다리는 동안 요청 스레드를 반환한다. (비동기 처리)
+     */
     @ResponseBody
     @GetMapping("/naver/callback")
-    public String login(HttpServletRequest request) {
+    public Mono<String> login(HttpServletRequest request) {
         String code = request.getParameter("code");
         String state = request.getParameter("state");
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = "https://nid.naver.com/oauth2.0/token?client_id={clientId}&client_secret={clientSecret}&grant_type=authorization_code&state={state}&code={code}";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        JSONObject jsonResponse = null;
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class,
-                    clientId, clientSecret, state, code);
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
-                if (responseBody != null) {
-                    jsonResponse = new JSONObject(responseBody);
-                    System.out.println("Response received: " + jsonResponse.toString());
-                } else {
-                    System.out.println("No response body received.");
-                }
-            } else {
-                System.out.println("HTTP error: " + response.getStatusCode());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        String token = (String) jsonResponse.get("access_token");
-        String data = "Bearer " + token;
-
-        return data;
+        return requestAccessToken(code, state)
+                .map(token -> "Bearer " + token);
+    }
+
+    /**
+     * Access Token 발급 후 회원정보 조회 (JSON)
+     */
+    @ResponseBody
+    @GetMapping("/naver/callback/profile")
+    public Mono<NaverOauthDTO> loginProfile(HttpServletRequest request) {
+        String code = request.getParameter("code");
+        String state = request.getParameter("state");
+
+        return requestAccessToken(code, state)
+                .flatMap(this::getUserInfo);
+    }
+
+    private Mono<String> requestAccessToken(String code, String state) {
+        String url = tokenUri
+                + "?client_id={clientId}&client_secret={clientSecret}&grant_type=authorization_code&state={state}&code={code}";
+
+        return oAuthHttpClient.executeAsync(OAuthProvider.NAVER, false, webClient -> webClient.post()
+                .uri(url, clientId, clientSecret, state, code)
+                .contentType(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .flatMap(jsonResponse -> OAuthHttpClient.requireToken(OAuthProvider.NAVER, jsonResponse.path("access_token").asText()));
+    }
+
+    private Mono<NaverOauthDTO> getUserInfo(String accessToken) {
+        return oAuthHttpClient.executeAsync(OAuthProvider.NAVER, webClient -> webClient.get()
+                .uri(userInfoUri)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(responseBody -> objectMapper.convertValue(responseBody.path("response"), NaverOauthDTO.class));
     }
 
     /*
@@ -26,20 +26,8 @@ public class ApiSecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
-    private static final String[] SECURITY_IGNORE_URL = {
-            "/email/**",
-            "/file/**",
-            "/",
-            "/index.html",
-            "/**/callback",
-            "/swagger-ui/**",
-            "/swagger-ui.html",
-            "/swagger-ui-custom.html",
-            "/v3/api-docs/**",
-            "/api-docs/**",
-            "/api/auth/**",
-            "/access/**"
-    };
+    // authentication bypass routes, shared with JwtAuthenticationFilter
+    private final SecurityRouteMatcher securityRouteMatcher;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -52,7 +40,7 @@ public class ApiSecurityConfig {
                         management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(requests ->
                         requests
-                                .requestMatchers(SECURITY_IGNORE_URL).permitAll()
+                                .requestMatchers(securityRouteMatcher).permitAll()
                                 .requestMatchers("/api/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_USER")
                                 .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -1,27 +1,45 @@
 package com.mg.api.mg.security;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.mg.core.common.code.ErrorCode;
 import com.mg.core.common.exception.MGException;
 import com.mg.core.dto.mg.UserDTO;
 import com.mg.core.mapper.db1.auth.AuthMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 /**
  * CustomUserDetailService is a service class that implements Spring Security's
  * UserDetailsService interface
  * to provide custom user authentication logic using MyBatis AuthMapper.
  * This service provides methods to load user details by login ID and user ID.
+ * Users loaded by uid (every authenticated request) are kept in a bounded, TTL-based cache.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CustomUserDetailService implements UserDetailsService {
 
     private final AuthMapper authMapper;
+    private final LoadingCache<String, UserDTO> userCache;
+
+    public CustomUserDetailService(AuthMapper authMapper,
+            @Value("${custom.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${custom.user-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.authMapper = authMapper;
+        // concurrent misses for the same uid are collapsed into a single findByUid call
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build(authMapper::findByUid);
+    }
 
     /**
      * Loads the user details by login ID.
@@ -47,11 +65,37 @@ public class CustomUserDetailService implements UserDetailsService {
      * @throws SPException if the user is not found
      */
     public UserDetails loadUserByUid(String uid) {
-        UserDTO user = authMapper.findByUid(uid);
+        UserDTO user = userCache.get(uid);
         if (user == null) {
             throw new MGException(ErrorCode.USER_NON_EXISTS);
         }
         return user;
     }
 
+    /**
+     * Evicts the cached user. Must be called after the user's password, role or
+     * profile is changed so the next request reloads it from the database.
+     *
+     * @param uid the unique ID of the user
+     */
+    public void evictUser(String uid) {
+        userCache.invalidate(uid);
+    }
+
+    /**
+     * Evicts all cached users (e.g. after a bulk role change).
+     */
+    public void evictAllUsers() {
+        userCache.invalidateAll();
+    }
+
+    /**
+     * Returns hit/miss/eviction statistics of the user cache.
+     *
+     * @return the cache statistics snapshot
+     */
+    public CacheStats getUserCacheStats() {
+        return userCache.stats();
+    }
+
 }
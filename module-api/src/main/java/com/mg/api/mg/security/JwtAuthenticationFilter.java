@@ -14,10 +14,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -30,18 +28,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailService customUserDetailService;
+    private final SecurityRouteMatcher securityRouteMatcher;
 
+    /**
+     * Skips the routes that bypass authentication (see SecurityRouteMatcher).
+     */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-        String[] excludePath = {
-                "/email/**"
-        };
-        String path = request.getRequestURI();
-        log.info("Request URI - {}", path);
-        AntPathMatcher antPathMatcher = new AntPathMatcher();
-        log.info("boolean flag - {}",
-                Arrays.stream(excludePath).anyMatch(pattern -> antPathMatcher.match(pattern, path)));
-        return Arrays.stream(excludePath).anyMatch(pattern -> antPathMatcher.match(pattern, path));
+        boolean bypass = securityRouteMatcher.matches(request);
+        if (log.isDebugEnabled()) {
+            log.debug("Request URI - {}, bypass - {}", request.getRequestURI(), bypass);
+        }
+        return bypass;
     }
 
     @Override
@@ -49,10 +47,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             getJwtFromRequest(request).ifPresentOrElse(
                     token -> {
-                        switch (jwtTokenProvider.validateToken(token)) {
-                            case 0 -> handleValidToken(token, request);
-                            case 1 -> request.setAttribute("errorCode", ErrorCode.TOKEN_EXPIRED);
-                            case 2 -> request.setAttribute("errorCode", ErrorCode.INVALID_TOKEN);
+                        JwtValidationResult result = jwtTokenProvider.validate(token);
+                        switch (result.getStatus()) {
+                            case VALID -> handleValidToken(result, request);
+                            case EXPIRED -> request.setAttribute("errorCode", ErrorCode.TOKEN_EXPIRED);
+                            case INVALID -> request.setAttribute("errorCode", ErrorCode.INVALID_TOKEN);
                         }
                     },
                     () -> request.setAttribute("errorCode", ErrorCode.TOKEN_NON_EXISTS));
@@ -80,12 +79,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     /**
      * Handles the validation and authentication setup for a valid token.
      *
-     * @param token   the valid JWT token
+     * @param result  the verified JWT token
      * @param request the HTTP request
      */
-    private void handleValidToken(String token, HttpServletRequest request) {
-        if (jwtTokenProvider.isAccessToken(token)) {
-            String uid = jwtTokenProvider.getUidFromToken(token);
+    private void handleValidToken(JwtValidationResult result, HttpServletRequest request) {
+        if (result.isAccessToken()) {
+            String uid = result.getSubject();
             UserDTO userDetail = (UserDTO) customUserDetailService.loadUserByUid(uid);
             setAuthentication(request, userDetail);
         } else {
@@ -19,6 +19,8 @@ import java.util.Date;
 public class JwtTokenProvider {
 
     private final Key key;
+    private final JwtParser jwtParser;
+    private final JwtVerifiedTokenCache verifiedTokenCache;
     private final int accessTokenExpiration;
     private final int refreshTokenExpiration;
     private final String issuer;
@@ -26,8 +28,15 @@ public class JwtTokenProvider {
     public JwtTokenProvider(@Value("${jwt.secret.key}") String jwtSecret,
             @Value("${jwt.access.token.expiration}") int accessTokenExpiration,
             @Value("${jwt.refresh.token.expiration}") int refreshTokenExpiration,
-            @Value("${jwt.issuer}") String issuer) {
+            @Value("${jwt.issuer}") String issuer,
+            @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize,
+            @Value("${jwt.verified-cache.max-ttl-seconds:1800}") long verifiedCacheMaxTtlSeconds) {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, build it once and reuse it
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokenCache = new JwtVerifiedTokenCache(verifiedCacheMaximumSize, verifiedCacheMaxTtlSeconds);
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.issuer = issuer;
@@ -95,11 +104,71 @@ public class JwtTokenProvider {
      * @return the claims extracted from the JWT token
      */
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verify a JWT token once and return the status, token type and subject
+     * together. Tokens already verified are served from the verified-token cache
+     * until they expire.
+     *
+     * @param token JWT token
+     * @return the validation result
+     */
+    public JwtValidationResult validate(String token) {
+        JwtValidationResult cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        JwtValidationResult result = verify(token);
+        verifiedTokenCache.put(token, result, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Returns the verified-token cache (hit ratio, saved verification time).
+     *
+     * @return the verified-token cache
+     */
+    public JwtVerifiedTokenCache getVerifiedTokenCache() {
+        return verifiedTokenCache;
+    }
+
+    /**
+     * Verify the signature and expiration of a JWT token
+     *
+     * @param token JWT token
+     * @return the validation result
+     */
+    private JwtValidationResult verify(String token) {
+        try {
+            Claims claims = parseClaims(token);
+            return JwtValidationResult.valid(resolveTokenType(claims), claims.getSubject(), claims.getExpiration());
+        } catch (ExpiredJwtException e) {
+            log.error("JWT token expired: {}", e.getMessage());
+            return JwtValidationResult.expired();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation error: {}", e.getMessage());
+            return JwtValidationResult.invalid();
+        }
+    }
+
+    /**
+     * Resolve the token type claim
+     *
+     * @param claims verified claims
+     * @return the token type, or null if the claim is missing or unknown
+     */
+    private TokenType resolveTokenType(Claims claims) {
+        String tokenType = claims.get("tokenType", String.class);
+        for (TokenType type : TokenType.values()) {
+            if (type.name().equals(tokenType)) {
+                return type;
+            }
+        }
+        return null;
     }
 
     /**
@@ -110,16 +179,11 @@ public class JwtTokenProvider {
      *         not valid
      */
     public int validateToken(String token) {
-        try {
-            parseClaims(token);
-            return 0;
-        } catch (ExpiredJwtException e) {
-            log.error("JWT token expired: {}", e.getMessage(), e);
-            return 1;
-        } catch (JwtException e) {
-            log.error("JWT validation error: {}", e.getMessage(), e);
-            return 2;
-        }
+        return switch (validate(token).getStatus()) {
+            case VALID -> 0;
+            case EXPIRED -> 1;
+            case INVALID -> 2;
+        };
     }
 
     /**
@@ -149,8 +213,7 @@ public class JwtTokenProvider {
      */
     public boolean isAccessToken(String token) {
         Claims claims = parseClaims(token);
-        String tokenType = claims.get("tokenType", String.class);
-        return TokenType.ACCESS.name().equals(tokenType);
+        return resolveTokenType(claims) == TokenType.ACCESS;
     }
 
 }
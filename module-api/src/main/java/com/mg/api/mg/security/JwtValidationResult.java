@@ -0,0 +1,58 @@
+package com.mg.api.mg.security;
+
+import com.mg.core.common.code.TokenType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Result of a single JWT verification.
+ * Holds the validation status together with the token type and subject so the
+ * token does not need to be parsed again.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtValidationResult {
+
+    /**
+     * VALID - signature and expiration verified
+     * EXPIRED - signature verified but the token is expired
+     * INVALID - malformed, unsupported or wrong signature
+     */
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID;
+    }
+
+    private static final JwtValidationResult EXPIRED = new JwtValidationResult(Status.EXPIRED, null, null, null);
+    private static final JwtValidationResult INVALID = new JwtValidationResult(Status.INVALID, null, null, null);
+
+    private final Status status;
+    private final TokenType tokenType;
+    private final String subject;
+    private final Date expiration;
+
+    public static JwtValidationResult valid(TokenType tokenType, String subject, Date expiration) {
+        return new JwtValidationResult(Status.VALID, tokenType, subject, expiration);
+    }
+
+    public static JwtValidationResult expired() {
+        return EXPIRED;
+    }
+
+    public static JwtValidationResult invalid() {
+        return INVALID;
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public boolean isAccessToken() {
+        return isValid() && tokenType == TokenType.ACCESS;
+    }
+
+}
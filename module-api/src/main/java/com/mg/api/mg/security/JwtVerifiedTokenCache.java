@@ -0,0 +1,139 @@
+package com.mg.api.mg.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified JWT tokens.
+ * Entries are keyed by the SHA-256 hash of the whole token (never by the
+ * signature segment alone, which would let a forged payload reuse a cached
+ * result) and live until the token's own expiration.
+ * Only successfully verified tokens are cached. The cache belongs to a single
+ * signing key, so it must be cleared when the key is rotated.
+ */
+public class JwtVerifiedTokenCache {
+
+    private final Cache<String, JwtValidationResult> cache;
+    private final long maxTtlNanos;
+
+    private final LongAdder verifyCount = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    public JwtVerifiedTokenCache(long maximumSize, long maxTtlSeconds) {
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, JwtValidationResult>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtValidationResult value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtValidationResult value, long currentTime,
+                            long currentDuration) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtValidationResult value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached verification result of the token.
+     *
+     * @param token JWT token
+     * @return the cached result, an expired result if the cached token has
+     *         expired since, or null if the token has not been verified yet
+     */
+    public JwtValidationResult get(String token) {
+        String key = hash(token);
+        JwtValidationResult result = cache.getIfPresent(key);
+        if (result == null) {
+            return null;
+        }
+        // entries are evicted lazily, so check the expiration on every hit
+        if (result.getExpiration() != null && result.getExpiration().getTime() <= System.currentTimeMillis()) {
+            cache.invalidate(key);
+            return JwtValidationResult.expired();
+        }
+        return result;
+    }
+
+    /**
+     * Stores the verification result of the token.
+     *
+     * @param token        JWT token
+     * @param result       the verification result
+     * @param elapsedNanos time spent on the verification
+     */
+    public void put(String token, JwtValidationResult result, long elapsedNanos) {
+        verifyCount.increment();
+        verifyNanos.add(elapsedNanos);
+        if (result.isValid()) {
+            cache.put(hash(token), result);
+        }
+    }
+
+    /**
+     * Clears every cached token. Must be called when the signing key is rotated.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * Estimated verification time saved by the cache (hit count x average
+     * verification time).
+     *
+     * @return saved time in nanoseconds
+     */
+    public long getSavedVerificationNanos() {
+        long count = verifyCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return cache.stats().hitCount() * (verifyNanos.sum() / count);
+    }
+
+    private long ttlNanos(JwtValidationResult value) {
+        if (value.getExpiration() == null) {
+            return maxTtlNanos;
+        }
+        long remain = TimeUnit.MILLISECONDS.toNanos(value.getExpiration().getTime() - System.currentTimeMillis());
+        return Math.max(0, Math.min(remain, maxTtlNanos));
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.mg.api.mg.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matcher for the routes that bypass authentication.
+ * The patterns are parsed once at startup and shared by the
+ * SecurityFilterChain (permitAll) and JwtAuthenticationFilter (skipped).
+ * Literal routes are looked up in a hash set, and the other patterns are
+ * grouped by their first path segment so that a request is only tested
+ * against the patterns that can possibly match it.
+ */
+@Component
+public class SecurityRouteMatcher implements RequestMatcher {
+
+    /**
+     * Routes that do not require authentication.
+     */
+    public static final String[] SECURITY_IGNORE_URL = {
+            "/email/**",
+            "/file/**",
+            "/",
+            "/index.html",
+            "/*/callback",
+            "/*/callback/profile",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/swagger-ui-custom.html",
+            "/v3/api-docs/**",
+            "/api-docs/**",
+            "/api/auth/**",
+            "/access/**"
+    };
+
+    /**
+     * Routes under an ignored prefix that still require authentication.
+     * Chunked upload sessions reserve disk space, so they are tied to a user.
+     */
+    public static final String[] SECURITY_REQUIRED_URL = {
+            "/file/chunked/**"
+    };
+
+    private static final PathPattern[] EMPTY = new PathPattern[0];
+
+    private final Set<String> literalRoutes = new HashSet<>();
+    // first path segment -> patterns starting with that segment
+    private final Map<String, PathPattern[]> patternsBySegment = new HashMap<>();
+    // patterns starting with a wildcard segment
+    private final PathPattern[] wildcardPatterns;
+    // exceptions to the ignored routes
+    private final PathPattern[] requiredPatterns;
+
+    public SecurityRouteMatcher() {
+        PathPatternParser parser = new PathPatternParser();
+        Map<String, List<PathPattern>> grouped = new HashMap<>();
+        List<PathPattern> wildcards = new ArrayList<>();
+
+        for (String route : SECURITY_IGNORE_URL) {
+            PathPattern pattern = parser.parse(route);
+            if (!pattern.hasPatternSyntax()) {
+                literalRoutes.add(route);
+                continue;
+            }
+            String segment = firstSegment(route);
+            if (segment.contains("*") || segment.contains("{") || segment.contains("?")) {
+                wildcards.add(pattern);
+            } else {
+                grouped.computeIfAbsent(segment, key -> new ArrayList<>()).add(pattern);
+            }
+        }
+        grouped.forEach((segment, patterns) -> patternsBySegment.put(segment, patterns.toArray(EMPTY)));
+        this.wildcardPatterns = wildcards.toArray(EMPTY);
+        this.requiredPatterns = Arrays.stream(SECURITY_REQUIRED_URL).map(parser::parse).toArray(PathPattern[]::new);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return matches(path);
+    }
+
+    /**
+     * Checks whether the path bypasses authentication.
+     *
+     * @param path the request path within the application
+     * @return true if the path matches one of the ignored routes
+     */
+    public boolean matches(String path) {
+        if (literalRoutes.contains(path)) {
+            return true;
+        }
+
+        PathPattern[] candidates = patternsBySegment.getOrDefault(firstSegment(path), EMPTY);
+        if (candidates.length == 0 && wildcardPatterns.length == 0) {
+            return false;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : candidates) {
+            if (pattern.matches(pathContainer)) {
+                return !isRequired(pathContainer);
+            }
+        }
+        for (PathPattern pattern : wildcardPatterns) {
+            if (pattern.matches(pathContainer)) {
+                return !isRequired(pathContainer);
+            }
+        }
+        return false;
+    }
+
+    private boolean isRequired(PathContainer pathContainer) {
+        for (PathPattern pattern : requiredPatterns) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstSegment(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+}
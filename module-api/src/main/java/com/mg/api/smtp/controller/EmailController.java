@@ -7,6 +7,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.io.IOException;
+
 @RequestMapping("/email")
 @MGRestController
 public class EmailController {
@@ -15,7 +17,12 @@ public class EmailController {
     private EmailService emailService;
 
     @PostMapping("/emailConfirm")
-    public void mailConfirm(String id) {
+    public void mailConfirm(String id) throws IOException {
         int num = emailService.sendEmail(id);
     }
+
+    @PostMapping("/emailVerify")
+    public boolean mailVerify(String id, int code) {
+        return emailService.verifyCode(id, code);
+    }
 }
@@ -0,0 +1,385 @@
+package com.mg.api.smtp.service;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 메일 발송 큐
+ * 메일을 spool 디렉토리에 파일(.eml)로 먼저 저장하고, worker 스레드가 모아서 발송한다.
+ * - 요청 스레드는 SMTP 응답을 기다리지 않음
+ * - worker 는 한 번에 최대 batchSize 개의 메일을 하나의 SMTP 연결로 발송 (JavaMailSender.send(MimeMessage...))
+ * - 발송 실패 시 지수 backoff 로 재시도, 최대 횟수를 넘으면 failed 디렉토리로 이동
+ * - 기동 시 spool 디렉토리에 남아 있는 메일을 다시 큐에 등록 (재기동 시 유실 방지)
+ * - 발송 대기 중인 메일 수는 max-pending 으로 제한하고, failed 디렉토리의 메일은 failed-retention-ms 후 삭제
+ * - 유효 기간을 지정한 메일(인증 코드 등)은 기간이 지나거나 발송에 실패하면 failed 로 옮기지 않고 바로 삭제
+ *   (유효 기간은 파일 명에 기록 : {생성 시각}_{만료 시각}_{UUID}.eml)
+ */
+@Slf4j
+@Component
+public class EmailDispatchQueue {
+
+    private static final String SPOOL_SUFFIX = ".eml";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String FAILED_DIR = "failed";
+    private static final String NAME_SEPARATOR = "_";
+
+    private final JavaMailSender javaMailSender;
+    private final Path spoolDir;
+    private final Path failedDir;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final int maxPending;
+    private final long failedRetentionMs;
+
+    private final BlockingQueue<Path> queue;
+    // spool 에 있는 (발송 대기 + 재시도 대기) 메일 수
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final List<Path> recovered;
+    // spool 파일 -> 발송 시도 횟수
+    private final Map<Path, Integer> attempts = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final long startTime = System.currentTimeMillis();
+
+    public EmailDispatchQueue(JavaMailSender javaMailSender,
+            @Value("${custom.mail.spool-path:mail-spool}") String spoolPath,
+            @Value("${custom.mail.worker-count:2}") int workerCount,
+            @Value("${custom.mail.batch-size:20}") int batchSize,
+            @Value("${custom.mail.max-attempts:5}") int maxAttempts,
+            @Value("${custom.mail.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${custom.mail.max-pending:10000}") int maxPending,
+            @Value("${custom.mail.failed-retention-ms:604800000}") long failedRetentionMs) throws IOException {
+        this.javaMailSender = javaMailSender;
+        this.spoolDir = Paths.get(spoolPath).toAbsolutePath().normalize();
+        this.failedDir = spoolDir.resolve(FAILED_DIR);
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxPending = Math.max(1, maxPending);
+        this.failedRetentionMs = failedRetentionMs;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Files.createDirectories(failedDir);
+
+        // 이전 실행에서 발송하지 못한 메일 (max-pending 보다 많아도 모두 다시 등록할 수 있도록 큐 크기를 정함)
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            this.recovered = files.filter(path -> path.getFileName().toString().endsWith(SPOOL_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        this.queue = new LinkedBlockingQueue<>(Math.max(this.maxPending, recovered.size()));
+    }
+
+    @PostConstruct
+    public void start() {
+        // 이전 실행에서 발송하지 못한 메일을 다시 등록
+        pendingCount.addAndGet(recovered.size());
+        queue.addAll(recovered);
+        if (!recovered.isEmpty()) {
+            log.info("발송 대기 중인 메일을 다시 등록합니다. >>> {}", recovered.size());
+        }
+
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::drain, "mail-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 큐에 남은 메일은 spool 디렉토리에 남아 다음 기동 시 발송됨
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 메일을 spool 디렉토리에 저장하고 발송 큐에 등록
+     *
+     * @param message 발송할 메일
+     * @throws MGException 발송 대기 중인 메일 수가 max-pending 에 도달한 경우
+     */
+    public void enqueue(MimeMessage message) throws IOException {
+        enqueue(message, null);
+    }
+
+    /**
+     * 유효 기간이 있는 메일을 spool 디렉토리에 저장하고 발송 큐에 등록
+     * 유효 기간 안에 발송하지 못하면 메일을 삭제한다. (failed 디렉토리에 남기지 않음)
+     *
+     * @param message 발송할 메일
+     * @param ttl     유효 기간, null 이면 기간 없음
+     * @throws MGException 발송 대기 중인 메일 수가 max-pending 에 도달한 경우
+     */
+    public void enqueue(MimeMessage message, Duration ttl) throws IOException {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            throw new MGException(ErrorCode.MAIL_BUSY);
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = ttl == null ? 0 : now + ttl.toMillis();
+        String name = now + NAME_SEPARATOR + expiresAt + NAME_SEPARATOR + UUID.randomUUID();
+        Path temp = spoolDir.resolve(name + TEMP_SUFFIX);
+        Path spoolFile = spoolDir.resolve(name + SPOOL_SUFFIX);
+        try {
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                message.writeTo(output);
+            } catch (MessagingException ex) {
+                throw new IOException("메일을 저장할 수 없습니다.", ex);
+            }
+            // 작성이 끝난 파일만 .eml 로 보이도록 이동
+            Files.move(temp, spoolFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            pendingCount.decrementAndGet();
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        queue.add(spoolFile);
+        enqueuedCount.increment();
+    }
+
+    /**
+     * 보관 기간이 지난 발송 실패 메일 삭제
+     */
+    @Scheduled(fixedDelayString = "${custom.mail.failed-cleanup-interval-ms:3600000}")
+    public void cleanupFailed() {
+        long threshold = System.currentTimeMillis() - failedRetentionMs;
+        int removed = 0;
+        try (Stream<Path> files = Files.list(failedDir)) {
+            for (Path file : files.toList()) {
+                if (Files.getLastModifiedTime(file).toMillis() < threshold && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException ex) {
+            log.error("발송 실패 메일 정리에 실패했습니다.", ex);
+        }
+        if (removed > 0) {
+            log.info("보관 기간이 지난 발송 실패 메일 삭제 >>> {}", removed);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    // 배치 당 평균 발송 시간
+    public long getAverageBatchMillis() {
+        long count = batchCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sendNanos.sum() / count);
+    }
+
+    // 기동 이후 초당 발송 수
+    public double getSentPerSecond() {
+        long elapsed = System.currentTimeMillis() - startTime;
+        return elapsed <= 0 ? 0 : sentCount.sum() * 1000.0 / elapsed;
+    }
+
+    private void drain() {
+        List<Path> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("메일 발송 처리 중 오류가 발생했습니다.", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Path> batch) {
+        Map<MimeMessage, Path> messages = new IdentityHashMap<>();
+        long now = System.currentTimeMillis();
+        for (Path spoolFile : batch) {
+            if (isExpired(spoolFile, now)) {
+                log.warn("유효 기간이 지난 메일은 발송하지 않습니다. >>> {}", spoolFile.getFileName());
+                discard(spoolFile);
+                continue;
+            }
+            try (InputStream input = Files.newInputStream(spoolFile)) {
+                messages.put(javaMailSender.createMimeMessage(input), spoolFile);
+            } catch (IOException | MailException ex) {
+                log.error("저장된 메일을 읽을 수 없습니다. >>> {}", spoolFile, ex);
+                moveToFailed(spoolFile);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Set<Path> failed = new HashSet<>();
+        long start = System.nanoTime();
+        try {
+            // 하나의 SMTP 연결로 여러 메일을 발송
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                failed.addAll(messages.values());
+            }
+            for (Object failedMessage : ex.getFailedMessages().keySet()) {
+                Path spoolFile = messages.get(failedMessage);
+                if (spoolFile != null) {
+                    failed.add(spoolFile);
+                }
+            }
+            log.warn("메일 발송 실패 >>> {}/{}", failed.size(), messages.size(), ex);
+        } catch (MailException ex) {
+            failed.addAll(messages.values());
+            log.warn("메일 발송 실패 >>> {}", messages.size(), ex);
+        } finally {
+            sendNanos.add(System.nanoTime() - start);
+            batchCount.increment();
+        }
+
+        for (Path spoolFile : messages.values()) {
+            if (failed.contains(spoolFile)) {
+                retry(spoolFile);
+            } else {
+                sentCount.increment();
+                attempts.remove(spoolFile);
+                deleteQuietly(spoolFile);
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void retry(Path spoolFile) {
+        int attempt = attempts.merge(spoolFile, 1, Integer::sum);
+        if (attempt >= maxAttempts) {
+            log.error("메일 발송에 실패했습니다. >>> {} ({}회 시도)", spoolFile.getFileName(), attempt);
+            attempts.remove(spoolFile);
+            moveToFailed(spoolFile);
+            return;
+        }
+        retriedCount.increment();
+        long delay = retryBackoffMs * (1L << Math.min(attempt - 1, 10));
+        retryScheduler.schedule(() -> queue.add(spoolFile), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void moveToFailed(Path spoolFile) {
+        failedCount.increment();
+        pendingCount.decrementAndGet();
+        // 유효 기간이 있는 메일(인증 코드 등)은 디스크에 남기지 않음
+        if (expiresAt(spoolFile) > 0) {
+            deleteQuietly(spoolFile);
+            return;
+        }
+        try {
+            Files.move(spoolFile, failedDir.resolve(spoolFile.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            log.error("발송 실패 메일을 이동할 수 없습니다. >>> {}", spoolFile, ex);
+        }
+    }
+
+    private void discard(Path spoolFile) {
+        failedCount.increment();
+        pendingCount.decrementAndGet();
+        attempts.remove(spoolFile);
+        deleteQuietly(spoolFile);
+    }
+
+    private static boolean isExpired(Path spoolFile, long now) {
+        long expiresAt = expiresAt(spoolFile);
+        return expiresAt > 0 && expiresAt <= now;
+    }
+
+    // 파일 명에 기록된 만료 시각, 없으면 0 (이전 형식의 파일 포함)
+    private static long expiresAt(Path spoolFile) {
+        String[] parts = spoolFile.getFileName().toString().split(NAME_SEPARATOR, 3);
+        if (parts.length < 3) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException ex) {
+            log.warn("발송한 메일을 삭제할 수 없습니다. >>> {}", spoolFile, ex);
+        }
+    }
+
+}
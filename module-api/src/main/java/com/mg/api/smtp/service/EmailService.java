@@ -1,50 +1,82 @@
 package com.mg.api.smtp.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mg.api.smtp.template.EmailTemplateEngine;
+import com.mg.api.smtp.template.EmailTemplateType;
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailService {
-    @Autowired
-    private JavaMailSender javaMailSender; // 의존성 주입을 통해 필요한 객체를 가져옴
-    @Value("${spring.mail.username}")
-    private String senderEmail;
-    private static int number; // 랜덤 인증 코드
+    private final JavaMailSender javaMailSender; // 의존성 주입을 통해 필요한 객체를 가져옴
+    private final EmailDispatchQueue emailDispatchQueue;
+    private final EmailTemplateEngine emailTemplateEngine;
+    private final String senderEmail;
+    // 수신자 별 인증 코드 (TTL 이 지나면 만료)
+    private final Cache<String, VerificationCode> verificationCodes;
+    // 인증 코드 하나당 허용되는 실패 횟수 (초과 시 코드 폐기, 재발송 필요)
+    private final int verificationMaxAttempts;
+    // 수신자 별 마지막 발송 시각 (resend-interval 동안 재발송 불가)
+    private final Cache<String, Long> lastSentAt;
+    private final Duration verificationTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    // 인증 코드와 실패 횟수 (실패 시 값을 교체하지 않으므로 TTL 이 연장되지 않음, 재발송 시에도 실패 횟수는 유지)
+    private record VerificationCode(int number, AtomicInteger failedAttempts) {
+    }
+
+    public EmailService(JavaMailSender javaMailSender, EmailDispatchQueue emailDispatchQueue,
+            EmailTemplateEngine emailTemplateEngine,
+            @Value("${spring.mail.username}") String senderEmail,
+            @Value("${custom.mail.verification.ttl-seconds:300}") long verificationTtlSeconds,
+            @Value("${custom.mail.verification.maximum-size:100000}") long verificationMaximumSize,
+            @Value("${custom.mail.verification.max-attempts:5}") int verificationMaxAttempts,
+            @Value("${custom.mail.verification.resend-interval-seconds:60}") long resendIntervalSeconds) {
+        this.javaMailSender = javaMailSender;
+        this.emailDispatchQueue = emailDispatchQueue;
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.senderEmail = senderEmail;
+        this.verificationMaxAttempts = verificationMaxAttempts;
+        this.verificationTtl = Duration.ofSeconds(verificationTtlSeconds);
+        this.verificationCodes = Caffeine.newBuilder()
+                .maximumSize(verificationMaximumSize)
+                .expireAfterWrite(verificationTtl)
+                .build();
+        this.lastSentAt = Caffeine.newBuilder()
+                .maximumSize(verificationMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(resendIntervalSeconds))
+                .build();
+    }
 
-    // 랜덤 인증 코드 생성
-    public static void createNumber() {
-        number = (int) (Math.random() * (90000)) + 100000;// (int) Math.random() * (최댓값-최소값+1) + 최소값
+    // 랜덤 인증 코드 생성 (6자리)
+    private int createNumber() {
+        return random.nextInt(900000) + 100000;
     }
 
     // 메일 양식 작성
-    public MimeMessage createMail(String mail) {
-        createNumber(); // 인증 코드 생성
+    public MimeMessage createMail(String mail, EmailTemplateType type, Map<String, ?> variables) {
         MimeMessage message = javaMailSender.createMimeMessage();
 
         try {
             // 메일 발송을 위해 상세 값 할당
             message.setFrom(senderEmail); // 보내는 이메일
             message.setRecipients(MimeMessage.RecipientType.TO, mail); // 보낼 이메일 설정
-            message.setSubject("[SP] 회원가입을 위한 이메일 인증"); // 제목 설정
-            String body = "";
-            body += "<h1>" + "안녕하세요." + "</h1>";
-            body += "<h1>" + "SP 입니다." + "</h1>";
-            body += "<h3>" + "회원가입을 위한 요청하신 인증 번호입니다." + "</h3><br>";
-            body += "<h2>" + "아래 코드를 회원가입 창으로 돌아가 입력해주세요." + "</h2>";
-
-            body += "<div align='center' style='border:1px solid black; font-family:verdana;'>";
-            body += "<h2>" + "회원가입 인증 코드입니다." + "</h2>";
-            body += "<h1 style='color:blue'>" + number + "</h1>";
-            body += "</div><br>";
-            body += "<h3>" + "감사합니다." + "</h3>";
-            message.setText(body, "UTF-8", "html");
+            message.setSubject(emailTemplateEngine.renderSubject(type, variables), "UTF-8"); // 제목 설정
+            message.setText(emailTemplateEngine.renderBody(type, variables), "UTF-8", "html");
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -52,14 +84,58 @@ public class EmailService {
         return message;
     }
 
-    // 실제 메일 전송
-    public int sendEmail(String userId) {
-        // 메일 전송에 필요한 정보 설정
-        MimeMessage message = createMail(userId);
-        // 실제 메일 전송
-        javaMailSender.send(message);
+    // 메일 발송 큐에 등록 (실제 전송은 EmailDispatchQueue 에서 비동기로 처리)
+    public int sendEmail(String userId) throws IOException {
+        if (!StringUtils.hasText(userId)) {
+            throw new MGException(ErrorCode.INVALID_PARAMETER);
+        }
+        // 같은 수신자에게는 resend-interval 에 한 번만 발송 (메일 폭탄 및 인증 실패 횟수 초기화 방지)
+        if (lastSentAt.asMap().putIfAbsent(userId, System.currentTimeMillis()) != null) {
+            throw new MGException(ErrorCode.MAIL_RESEND_TOO_SOON);
+        }
+
+        // 인증 코드 생성 후 수신자 별로 저장 (이전 코드의 실패 횟수는 이어서 사용)
+        int number = createNumber();
+        VerificationCode previous = verificationCodes.getIfPresent(userId);
+        AtomicInteger failedAttempts = previous != null ? previous.failedAttempts() : new AtomicInteger();
+        verificationCodes.put(userId, new VerificationCode(number, failedAttempts));
+
+        // 메일 전송에 필요한 정보 설정 (인증 코드 유효 기간이 지나면 발송하지 않고 폐기)
+        MimeMessage message = createMail(userId, EmailTemplateType.VERIFICATION, Map.of("number", number));
+        try {
+            emailDispatchQueue.enqueue(message, verificationTtl);
+        } catch (IOException | RuntimeException ex) {
+            // 발송 대기열에 넣지 못했으면 바로 다시 요청할 수 있도록 함
+            lastSentAt.invalidate(userId);
+            throw ex;
+        }
 
         // 인증 코드 반환
         return number;
     }
+
+    // 템플릿 메일 발송 큐에 등록 (비밀번호 재설정, 알림 등)
+    public void sendTemplateEmail(String mail, EmailTemplateType type, Map<String, ?> variables) throws IOException {
+        emailDispatchQueue.enqueue(createMail(mail, type, variables));
+    }
+
+    // 인증 코드 확인 (성공 시 코드 삭제, 실패가 max-attempts 에 도달하면 코드 폐기)
+    public boolean verifyCode(String userId, int code) {
+        if (!StringUtils.hasText(userId)) {
+            return false;
+        }
+        VerificationCode current = verificationCodes.getIfPresent(userId);
+        if (current == null) {
+            return false;
+        }
+        if (current.number() == code) {
+            // 동시에 같은 코드로 요청해도 한 번만 성공하도록 해당 코드일 때만 삭제
+            return verificationCodes.asMap().remove(userId, current);
+        }
+        if (current.failedAttempts().incrementAndGet() >= verificationMaxAttempts) {
+            verificationCodes.asMap().remove(userId, current);
+            log.info("인증 코드 실패 횟수 초과로 코드를 폐기합니다. >>> {}", userId);
+        }
+        return false;
+    }
 }
@@ -0,0 +1,86 @@
+package com.mg.api.smtp.template;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 메일 템플릿
+ * 템플릿 문자열을 한 번만 분석해 고정 문자열 / 변수 구간 목록(render plan)으로 만들어 두고,
+ * 렌더링 시에는 구간을 순서대로 버퍼에 이어 붙이기만 한다.
+ * 본문 템플릿은 변수 값을 HTML escape 하며, 값이 없는 변수는 빈 문자열로 치환한다.
+ */
+public class EmailTemplate {
+
+    private static final String VARIABLE_START = "${";
+    private static final String VARIABLE_END = "}";
+
+    // 고정 문자열 구간과 변수 이름이 번갈아 들어 있음 (짝수 : 고정 문자열, 홀수 : 변수 이름)
+    private final String[] segments;
+    // 고정 문자열 길이 합 (렌더링 버퍼 크기 예측용)
+    private final int literalLength;
+    private final boolean escapeHtml;
+    private final long lastModified;
+
+    private EmailTemplate(String[] segments, int literalLength, boolean escapeHtml, long lastModified) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+        this.escapeHtml = escapeHtml;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 템플릿 컴파일
+     *
+     * @param source       템플릿 문자열
+     * @param escapeHtml   변수 값 HTML escape 여부 (본문 : true, 제목 : false)
+     * @param lastModified 템플릿 파일 수정 시간 (hot reload 확인용)
+     * @return 컴파일된 템플릿
+     */
+    public static EmailTemplate compile(String source, boolean escapeHtml, long lastModified) {
+        List<String> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (true) {
+            int start = source.indexOf(VARIABLE_START, position);
+            int end = start < 0 ? -1 : source.indexOf(VARIABLE_END, start + VARIABLE_START.length());
+            if (start < 0 || end < 0) {
+                segments.add(source.substring(position));
+                literalLength += source.length() - position;
+                break;
+            }
+            segments.add(source.substring(position, start));
+            segments.add(source.substring(start + VARIABLE_START.length(), end).trim());
+            literalLength += start - position;
+            position = end + VARIABLE_END.length();
+        }
+        return new EmailTemplate(segments.toArray(new String[0]), literalLength, escapeHtml, lastModified);
+    }
+
+    /**
+     * 변수를 치환해 버퍼에 렌더링
+     *
+     * @param variables 변수 값
+     * @param buffer    렌더링 결과를 이어 붙일 버퍼
+     */
+    public void render(Map<String, ?> variables, StringBuilder buffer) {
+        buffer.ensureCapacity(buffer.length() + literalLength + 16 * (segments.length / 2));
+        for (int i = 0; i < segments.length; i++) {
+            if (i % 2 == 0) {
+                buffer.append(segments[i]);
+            } else {
+                Object value = variables.get(segments[i]);
+                if (value != null) {
+                    buffer.append(escapeHtml ? HtmlUtils.htmlEscape(String.valueOf(value)) : String.valueOf(value));
+                }
+            }
+        }
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.mg.api.smtp.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메일 템플릿 엔진
+ * 기동 시 모든 템플릿을 한 번 읽어 컴파일해 두고, 렌더링은 스레드 별로 재사용하는 버퍼에서 수행한다.
+ * custom.mail.template.hot-reload=true (로컬 환경) 이면 렌더링 시 파일 수정 시간을 확인해 다시 컴파일한다.
+ */
+@Slf4j
+@Component
+public class EmailTemplateEngine {
+
+    // 렌더링 버퍼 초기 크기 / 재사용 최대 크기 (큰 메일을 렌더링한 버퍼는 버림)
+    private static final int BUFFER_INITIAL_CAPACITY = 2 * 1024;
+    private static final int BUFFER_MAX_CAPACITY = 64 * 1024;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final boolean hotReload;
+
+    // hot reload 시 교체되므로 동시성 map 사용
+    private final Map<EmailTemplateType, EmailTemplate> bodies = new ConcurrentHashMap<>();
+    private final Map<EmailTemplateType, EmailTemplate> subjects = new EnumMap<>(EmailTemplateType.class);
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(
+            () -> new StringBuilder(BUFFER_INITIAL_CAPACITY));
+
+    public EmailTemplateEngine(ResourceLoader resourceLoader,
+            @Value("${custom.mail.template.location:classpath:mail-templates/}") String location,
+            @Value("${custom.mail.template.hot-reload:false}") boolean hotReload) throws IOException {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.hotReload = hotReload;
+
+        for (EmailTemplateType type : EmailTemplateType.values()) {
+            bodies.put(type, load(type));
+            subjects.put(type, EmailTemplate.compile(type.getSubject(), false, 0));
+        }
+    }
+
+    /**
+     * 메일 제목 렌더링
+     *
+     * @param type      템플릿 종류
+     * @param variables 변수 값
+     * @return 메일 제목
+     */
+    public String renderSubject(EmailTemplateType type, Map<String, ?> variables) {
+        return render(subjects.get(type), variables);
+    }
+
+    /**
+     * 메일 본문 렌더링
+     *
+     * @param type      템플릿 종류
+     * @param variables 변수 값
+     * @return 메일 본문 (HTML)
+     */
+    public String renderBody(EmailTemplateType type, Map<String, ?> variables) {
+        return render(findBody(type), variables);
+    }
+
+    private String render(EmailTemplate template, Map<String, ?> variables) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.render(variables, buffer);
+        String result = buffer.toString();
+        if (buffer.capacity() > BUFFER_MAX_CAPACITY) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    private EmailTemplate findBody(EmailTemplateType type) {
+        EmailTemplate template = bodies.get(type);
+        if (!hotReload) {
+            return template;
+        }
+
+        // 템플릿 파일이 수정되었으면 다시 컴파일
+        try {
+            Resource resource = resourceLoader.getResource(location + type.getFileName());
+            if (resource.lastModified() != template.getLastModified()) {
+                template = load(type);
+                bodies.put(type, template);
+                log.info("메일 템플릿을 다시 읽었습니다. >>> {}", type.getFileName());
+            }
+        } catch (IOException ex) {
+            log.warn("메일 템플릿을 다시 읽을 수 없습니다. 이전 템플릿을 사용합니다. >>> {}", type.getFileName(), ex);
+        }
+        return template;
+    }
+
+    private EmailTemplate load(EmailTemplateType type) throws IOException {
+        Resource resource = resourceLoader.getResource(location + type.getFileName());
+        long lastModified = hotReload ? resource.lastModified() : 0;
+        try (InputStream input = resource.getInputStream()) {
+            return EmailTemplate.compile(StreamUtils.copyToString(input, StandardCharsets.UTF_8), true, lastModified);
+        }
+    }
+
+}
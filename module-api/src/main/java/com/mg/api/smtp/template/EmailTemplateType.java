@@ -0,0 +1,19 @@
+package com.mg.api.smtp.template;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 메일 템플릿 종류
+ * 본문은 {custom.mail.template.location}/{fileName} 에서 읽고, 제목과 본문 모두 ${변수} 치환을 지원한다.
+ */
+@Getter
+@AllArgsConstructor
+public enum EmailTemplateType {
+    VERIFICATION("verification.html", "[SP] 회원가입을 위한 이메일 인증"),
+    PASSWORD_RESET("password-reset.html", "[SP] 비밀번호 재설정 인증"),
+    NOTIFICATION("notification.html", "[SP] ${title}");
+
+    private final String fileName;
+    private final String subject;
+}
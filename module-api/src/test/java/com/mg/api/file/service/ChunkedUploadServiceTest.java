@@ -0,0 +1,124 @@
+package com.mg.api.file.service;
+
+import com.mg.api.file.storage.LocalFileStorage;
+import com.mg.api.file.vo.ChunkedUploadVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private Path dir;
+    private ThumbnailService thumbnailService;
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dir = Files.createTempDirectory("chunked-upload-test");
+        thumbnailService = new ThumbnailService(1, 10, List.of(), 1, 0, 100_000_000L);
+        ContentAddressedFileStore store = new ContentAddressedFileStore(dir.toString(), "plain", 0, 10);
+        fileService = new FileService(dir.toString(), thumbnailService, store, new LocalFileStorage(dir.toString()),
+                1, 10, 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileService.shutdown();
+        thumbnailService.shutdown();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void limitsSessionsPerUser() throws IOException {
+        ChunkedUploadService service = newService(60_000, 100, 2);
+        service.initiate("kim", "a.bin", 10);
+        ChunkedUploadVO second = service.initiate("kim", "b.bin", 10);
+
+        assertThrows(IllegalStateException.class, () -> service.initiate("kim", "c.bin", 10));
+        // 다른 사용자는 영향 없음
+        assertNotNull(service.initiate("lee", "c.bin", 10));
+        // 세션을 정리하면 다시 생성 가능
+        assertTrue(service.abort("kim", second.getUploadId()));
+        assertNotNull(service.initiate("kim", "c.bin", 10));
+    }
+
+    @Test
+    void hidesSessionsOfOtherUsers() throws IOException {
+        ChunkedUploadService service = newService(60_000, 100, 2);
+        String uploadId = service.initiate("kim", "a.bin", 10).getUploadId();
+
+        assertNull(service.findStatus("lee", uploadId));
+        assertNull(service.writeChunk("lee", uploadId, 0, new ByteArrayInputStream(new byte[10]), null));
+        assertFalse(service.abort("lee", uploadId));
+        assertNotNull(service.findStatus("kim", uploadId));
+    }
+
+    @Test
+    void treatsAbortDuringChunkWriteAsMissingSession() throws IOException {
+        ChunkedUploadService service = newService(60_000, 100, 2);
+        String uploadId = service.initiate("kim", "a.bin", CHUNK_SIZE).getUploadId();
+
+        // 첫 번째 read 가 끝난 뒤 업로드를 취소해 기록 중에 파일이 닫히도록 함
+        InputStream input = new InputStream() {
+            private int reads;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] buffer) throws IOException {
+                if (reads++ == 0) {
+                    return 512;
+                }
+                service.abort("kim", uploadId);
+                return 512;
+            }
+        };
+
+        assertNull(service.writeChunk("kim", uploadId, 0, input, null));
+    }
+
+    @Test
+    void deletesTempFileOfExpiredSession() throws Exception {
+        ChunkedUploadService service = newService(0, 100, 2);
+        service.initiate("kim", "a.bin", 10);
+        Thread.sleep(5);
+
+        service.cleanupExpiredSessions();
+
+        try (Stream<Path> files = Files.list(dir.resolve(".chunked"))) {
+            assertEquals(0, files.count());
+        }
+        // 만료된 세션의 슬롯도 반환됨
+        service.initiate("kim", "b.bin", 10);
+        service.initiate("kim", "c.bin", 10);
+    }
+
+    private ChunkedUploadService newService(long sessionTimeoutMillis, int maxSessions, int maxSessionsPerUser)
+            throws IOException {
+        return new ChunkedUploadService(fileService, CHUNK_SIZE, 1024 * 1024, sessionTimeoutMillis, maxSessions,
+                maxSessionsPerUser);
+    }
+}
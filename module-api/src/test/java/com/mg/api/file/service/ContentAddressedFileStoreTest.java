@@ -0,0 +1,93 @@
+package com.mg.api.file.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentAddressedFileStoreTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("cas-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void storesSameContentOnce() throws IOException {
+        ContentAddressedFileStore store = newStore(10);
+
+        String first = store.put("a.txt", content("hello"));
+        String second = store.put("b.txt", content("hello"));
+
+        assertEquals(first, second);
+        assertEquals(store.resolve("a.txt"), store.resolve("b.txt"));
+        assertTrue(store.delete("a.txt"));
+        assertTrue(Files.exists(store.resolve("b.txt")));
+        store.close();
+    }
+
+    @Test
+    void replaysIndexAfterClose() throws IOException {
+        ContentAddressedFileStore store = newStore(10);
+        store.put("a.txt", content("hello"));
+        store.put("b.txt", content("world"));
+        store.delete("b.txt");
+        store.close();
+
+        ContentAddressedFileStore reopened = newStore(10);
+        assertNotNull(reopened.resolve("a.txt"));
+        assertNull(reopened.resolve("b.txt"));
+        reopened.close();
+    }
+
+    @Test
+    void rejectsNewNamesOverMaxEntries() throws IOException {
+        ContentAddressedFileStore store = newStore(1);
+        store.put("a.txt", content("hello"));
+
+        assertThrows(IOException.class, () -> store.put("b.txt", content("world")));
+        // 기존 이름의 덮어쓰기는 허용
+        store.put("a.txt", content("world"));
+        store.close();
+    }
+
+    @Test
+    void rejectsWritesAfterClose() throws IOException {
+        ContentAddressedFileStore store = newStore(10);
+        store.put("a.txt", content("hello"));
+        store.close();
+
+        assertThrows(IOException.class, () -> store.put("b.txt", content("world")));
+        assertThrows(IOException.class, () -> store.delete("a.txt"));
+    }
+
+    private ContentAddressedFileStore newStore(int maxEntries) throws IOException {
+        return new ContentAddressedFileStore(dir.toString(), ContentAddressedFileStore.STORAGE_MODE, 0, maxEntries);
+    }
+
+    private static InputStream content(String value) {
+        return new ByteArrayInputStream(value.getBytes());
+    }
+}
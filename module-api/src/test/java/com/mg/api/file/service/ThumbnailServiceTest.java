@@ -0,0 +1,100 @@
+package com.mg.api.file.service;
+
+import com.mg.api.file.service.ThumbnailService.ThumbnailStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThumbnailServiceTest {
+
+    private Path dir;
+    private ThumbnailService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("thumbnail-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.shutdown();
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void createsLegacyThumbnail() throws Exception {
+        service = newService(100_000_000L);
+        Path image = writePng("ok.png", 30, 30);
+
+        assertEquals(ThumbnailStatus.DONE, awaitFinished("ok.png", image));
+        assertTrue(Files.exists(dir.resolve("s_ok.png")));
+    }
+
+    @Test
+    void doesNotRetryCorruptImage() throws Exception {
+        service = newService(100_000_000L);
+        Path image = dir.resolve("broken.png");
+        Files.write(image, "not an image".getBytes());
+
+        assertEquals(ThumbnailStatus.FAILED, awaitFinished("broken.png", image));
+        assertEquals(1, service.getFailedCount());
+    }
+
+    @Test
+    void doesNotRetryOversizedImage() throws Exception {
+        service = newService(10L);
+        Path image = writePng("big.png", 30, 30);
+
+        assertEquals(ThumbnailStatus.FAILED, awaitFinished("big.png", image));
+        assertFalse(Files.exists(dir.resolve("s_big.png")));
+    }
+
+    @Test
+    void retriesOnlyTransientIoErrors() {
+        assertTrue(ThumbnailService.isRetryable(new IOException("disk")));
+        assertFalse(ThumbnailService.isRetryable(new ThumbnailService.UnprocessableImageException("corrupt")));
+        assertFalse(ThumbnailService.isRetryable(new IllegalArgumentException("bad")));
+        assertTrue(ThumbnailService.isRetryable(new IIOException("write")));
+    }
+
+    private ThumbnailService newService(long maxPixels) {
+        // 재시도 간격을 길게 두어 재시도가 일어나면 RETRYING 상태가 관찰되도록 함
+        return new ThumbnailService(1, 10, List.of(), 3, 60_000, maxPixels);
+    }
+
+    private ThumbnailStatus awaitFinished(String fileName, Path image) throws InterruptedException {
+        service.submit(fileName, image);
+        long deadline = System.currentTimeMillis() + 10_000;
+        ThumbnailStatus status = service.findStatus(fileName);
+        while (System.currentTimeMillis() < deadline
+                && (status == ThumbnailStatus.QUEUED || status == ThumbnailStatus.PROCESSING)) {
+            Thread.sleep(10);
+            status = service.findStatus(fileName);
+        }
+        return status;
+    }
+
+    private Path writePng(String name, int width, int height) throws IOException {
+        Path path = dir.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", path.toFile());
+        return path;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mg.api.login.client;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OAuthHttpClientTest {
+
+    private OAuthHttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("custom.oauth.kakao.max-concurrent", 1)));
+        client = new OAuthHttpClient(environment, 10, 300, 30, 0, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void releasesPermitWhenBuildingRequestThrows() {
+        Mono<String> result = client.executeAsync(OAuthProvider.KAKAO, false, webClient -> {
+            throw new IllegalStateException("요청 생성 실패");
+        });
+
+        assertThrows(IllegalStateException.class, result::block);
+        assertEquals(1, client.getAvailableConcurrency(OAuthProvider.KAKAO));
+        assertEquals(1, client.getMetrics(OAuthProvider.KAKAO).getErrorCount());
+    }
+
+    @Test
+    void rejectsWhenBulkheadIsFullAndReleasesOnCancel() {
+        Sinks.One<String> pending = Sinks.one();
+        var subscription = client.executeAsync(OAuthProvider.KAKAO, false, webClient -> pending.asMono())
+                .subscribe();
+        assertEquals(0, client.getAvailableConcurrency(OAuthProvider.KAKAO));
+
+        MGException ex = assertThrows(MGException.class,
+                () -> client.executeAsync(OAuthProvider.KAKAO, false, webClient -> Mono.just("ok")).block());
+        assertEquals(ErrorCode.OAUTH_BUSY, ex.getErrorCode());
+        assertEquals(1, client.getMetrics(OAuthProvider.KAKAO).getRejectedCount());
+
+        // 구독 취소 시에도 권한 반납
+        subscription.dispose();
+        assertEquals(1, client.getAvailableConcurrency(OAuthProvider.KAKAO));
+        assertEquals("ok", client.executeAsync(OAuthProvider.KAKAO, false, webClient -> Mono.just("ok")).block());
+    }
+
+    @Test
+    void rejectsMissingToken() {
+        for (String token : new String[] { null, "", " " }) {
+            MGException ex = assertThrows(MGException.class,
+                    () -> OAuthHttpClient.requireToken(OAuthProvider.NAVER, token).block());
+            assertEquals(ErrorCode.OAUTH_TOKEN_NOT_ISSUED, ex.getErrorCode());
+        }
+        assertEquals("token", OAuthHttpClient.requireToken(OAuthProvider.NAVER, "token").block());
+    }
+}
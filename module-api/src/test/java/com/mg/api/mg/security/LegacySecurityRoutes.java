@@ -0,0 +1,37 @@
+package com.mg.api.mg.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+
+/**
+ * The bypass routes as they were matched before SecurityRouteMatcher
+ * (kept for comparison): the original pattern list checked one by one
+ * with a new AntPathMatcher on every request.
+ */
+final class LegacySecurityRoutes {
+
+    static final String[] SECURITY_IGNORE_URL = {
+            "/email/**",
+            "/file/**",
+            "/",
+            "/index.html",
+            "/**/callback",
+            "/**/callback/profile",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/swagger-ui-custom.html",
+            "/v3/api-docs/**",
+            "/api-docs/**",
+            "/api/auth/**",
+            "/access/**"
+    };
+
+    private LegacySecurityRoutes() {
+    }
+
+    static boolean matches(String path) {
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        return Arrays.stream(SECURITY_IGNORE_URL).anyMatch(pattern -> antPathMatcher.match(pattern, path));
+    }
+}
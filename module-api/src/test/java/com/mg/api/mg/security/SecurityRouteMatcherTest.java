@@ -0,0 +1,75 @@
+package com.mg.api.mg.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityRouteMatcherTest {
+
+    static final List<String> PATHS = List.of(
+            "/",
+            "/index.html",
+            "/index.htm",
+            "/email",
+            "/email/",
+            "/email/send",
+            "/email/verify/123",
+            "/emails/send",
+            "/file",
+            "/file/upload",
+            "/file/download/a/b/c.png",
+            "/files/upload",
+            "/kakao/callback",
+            "/naver/callback",
+            "/google/callback/profile",
+            "/kakao/callback/other",
+            "/kakao/login",
+            "/swagger-ui",
+            "/swagger-ui/index.html",
+            "/swagger-ui.html",
+            "/swagger-ui-custom.html",
+            "/v3/api-docs",
+            "/v3/api-docs/swagger-config",
+            "/api-docs/group",
+            "/api/auth/login",
+            "/api/auth",
+            "/api/user/me",
+            "/access/token",
+            "/user/me",
+            "/admin",
+            "/favicon.ico");
+
+    private final SecurityRouteMatcher matcher = new SecurityRouteMatcher();
+
+    @Test
+    void matchesLikeTheAntPathMatcherList() {
+        for (String path : PATHS) {
+            assertEquals(LegacySecurityRoutes.matches(path), matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    void requiresAuthenticationForChunkedUploads() {
+        // intentional difference: the old list let every /file/** route through
+        assertTrue(LegacySecurityRoutes.matches("/file/chunked/abc"));
+        assertFalse(matcher.matches("/file/chunked"));
+        assertFalse(matcher.matches("/file/chunked/abc"));
+        assertFalse(matcher.matches("/file/chunked/abc/complete"));
+        assertTrue(matcher.matches("/file/chunkedx"));
+    }
+
+    @Test
+    void matchesCallbacksUnderExactlyOneSegment() {
+        // intentional difference: "/**/callback" cannot be parsed by PathPatternParser,
+        // so "/*/callback" only accepts /{provider}/callback
+        assertTrue(LegacySecurityRoutes.matches("/callback"));
+        assertTrue(LegacySecurityRoutes.matches("/a/b/callback"));
+        assertFalse(matcher.matches("/callback"));
+        assertFalse(matcher.matches("/a/b/callback"));
+        assertFalse(matcher.matches("/a/b/callback/profile"));
+    }
+}
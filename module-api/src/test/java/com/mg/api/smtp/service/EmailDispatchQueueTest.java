@@ -0,0 +1,137 @@
+package com.mg.api.smtp.service;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailDispatchQueueTest {
+
+    private Path dir;
+    private RecordingMailSender sender;
+    private EmailDispatchQueue queue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("mail-spool-test");
+        sender = new RecordingMailSender();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (queue != null) {
+            queue.shutdown();
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void rejectsMailsOverMaxPending() throws Exception {
+        // worker 를 시작하지 않아 메일이 계속 대기 상태로 남음
+        queue = newQueue(2, 1);
+        queue.enqueue(message());
+        queue.enqueue(message());
+
+        MGException ex = assertThrows(MGException.class, () -> queue.enqueue(message()));
+        assertEquals(ErrorCode.MAIL_BUSY, ex.getErrorCode());
+        assertEquals(2, countFiles(dir));
+    }
+
+    @Test
+    void sendsAndDeletesSpoolFile() throws Exception {
+        queue = newQueue(10, 1);
+        queue.start();
+        queue.enqueue(message(), Duration.ofMinutes(5));
+
+        await(() -> queue.getSentCount() == 1);
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(0, countFiles(dir));
+    }
+
+    @Test
+    void dropsExpiredMailWithoutSending() throws Exception {
+        queue = newQueue(10, 1);
+        queue.enqueue(message(), Duration.ZERO);
+        queue.start();
+
+        await(() -> queue.getFailedCount() == 1);
+        assertTrue(sender.sent.isEmpty());
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(0, countFiles(dir));
+    }
+
+    @Test
+    void deletesFailedMailWithTtlInsteadOfKeepingIt() throws Exception {
+        sender.failing = true;
+        queue = newQueue(10, 1);
+        queue.start();
+        queue.enqueue(message(), Duration.ofMinutes(5));
+        queue.enqueue(message());
+
+        await(() -> queue.getFailedCount() == 2);
+        // 유효 기간이 없는 메일만 failed 디렉토리에 남음
+        assertEquals(0, countFiles(dir));
+        assertEquals(1, countFiles(dir.resolve("failed")));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    void removesFailedMailsPastRetention() throws Exception {
+        queue = newQueue(10, 1);
+        Path old = Files.writeString(dir.resolve("failed").resolve("old.eml"), "old");
+        Files.setLastModifiedTime(old, FileTime.fromMillis(System.currentTimeMillis() - 120_000));
+        Files.writeString(dir.resolve("failed").resolve("new.eml"), "new");
+
+        queue.cleanupFailed();
+
+        assertFalse(Files.exists(old));
+        assertEquals(1, countFiles(dir.resolve("failed")));
+    }
+
+    private EmailDispatchQueue newQueue(int maxPending, int maxAttempts) throws IOException {
+        return new EmailDispatchQueue(sender, dir.toString(), 1, 10, maxAttempts, 1, maxPending, 60_000);
+    }
+
+    private MimeMessage message() throws Exception {
+        MimeMessage message = sender.createMimeMessage();
+        message.setFrom("sender@example.com");
+        message.setRecipients(MimeMessage.RecipientType.TO, "user@example.com");
+        message.setSubject("인증 번호");
+        message.setText("123456");
+        return message;
+    }
+
+    // 하위 디렉토리를 제외한 파일 수
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
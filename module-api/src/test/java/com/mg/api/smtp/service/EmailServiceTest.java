@@ -0,0 +1,101 @@
+package com.mg.api.smtp.service;
+
+import com.mg.api.smtp.template.EmailTemplateEngine;
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.exception.MGException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailServiceTest {
+
+    private static final String USER = "user@example.com";
+
+    private Path dir;
+    private EmailDispatchQueue queue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("mail-service-test");
+        // worker 를 시작하지 않으므로 메일은 spool 에만 저장됨
+        queue = new EmailDispatchQueue(new RecordingMailSender(), dir.toString(), 1, 10, 1, 1, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        queue.shutdown();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void rejectsBlankRecipient() throws IOException {
+        EmailService service = newService(60);
+
+        assertEquals(ErrorCode.INVALID_PARAMETER, assertThrows(MGException.class, () -> service.sendEmail(null))
+                .getErrorCode());
+        assertEquals(ErrorCode.INVALID_PARAMETER, assertThrows(MGException.class, () -> service.sendEmail(" "))
+                .getErrorCode());
+        assertFalse(service.verifyCode(null, 123456));
+        assertEquals(0, queue.getEnqueuedCount());
+    }
+
+    @Test
+    void throttlesResendToSameRecipient() throws IOException {
+        EmailService service = newService(60);
+        service.sendEmail(USER);
+
+        MGException ex = assertThrows(MGException.class, () -> service.sendEmail(USER));
+        assertEquals(ErrorCode.MAIL_RESEND_TOO_SOON, ex.getErrorCode());
+        assertEquals(1, queue.getEnqueuedCount());
+        // 다른 수신자는 영향 없음
+        service.sendEmail("other@example.com");
+    }
+
+    @Test
+    void keepsFailedAttemptsAcrossResend() throws IOException {
+        EmailService service = newService(0);
+        int first = service.sendEmail(USER);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(service.verifyCode(USER, wrong(first)));
+        }
+
+        // 재발송해도 실패 횟수가 초기화되지 않으므로 한 번 더 틀리면 코드가 폐기됨
+        int second = service.sendEmail(USER);
+        assertFalse(service.verifyCode(USER, wrong(second)));
+        assertFalse(service.verifyCode(USER, second));
+    }
+
+    @Test
+    void verifiesCodeOnce() throws IOException {
+        EmailService service = newService(60);
+        int number = service.sendEmail(USER);
+
+        assertTrue(service.verifyCode(USER, number));
+        assertFalse(service.verifyCode(USER, number));
+    }
+
+    private EmailService newService(long resendIntervalSeconds) throws IOException {
+        EmailTemplateEngine engine = new EmailTemplateEngine(new DefaultResourceLoader(),
+                "classpath:mail-templates/", false);
+        return new EmailService(new RecordingMailSender(), queue, engine, "sender@example.com", 300, 1000, 5,
+                resendIntervalSeconds);
+    }
+
+    private static int wrong(int code) {
+        return code == 999999 ? 100000 : code + 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mg.api.smtp.service;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SMTP 서버 대신 발송된 메일을 기록하는 JavaMailSender
+ */
+class RecordingMailSender extends JavaMailSenderImpl {
+
+    final List<MimeMessage> sent = new CopyOnWriteArrayList<>();
+    volatile boolean failing;
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (failing) {
+            throw new MailSendException("SMTP 서버에 연결할 수 없습니다.");
+        }
+        sent.addAll(List.of(mimeMessages));
+    }
+}
@@ -0,0 +1,91 @@
+package com.mg.api.smtp.template;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateEngineTest {
+
+    @Test
+    void rendersVerificationMailLikeTheOldConcatenation() throws IOException {
+        EmailTemplateEngine engine = newEngine("classpath:mail-templates/", false);
+
+        String body = engine.renderBody(EmailTemplateType.VERIFICATION, Map.of("number", 123456));
+
+        // 템플릿 파일의 줄바꿈을 제외하면 기존 본문과 같아야 함
+        assertEquals(LegacyVerificationMail.body(123456), body.replace("\r", "").replace("\n", ""));
+        assertEquals(LegacyVerificationMail.SUBJECT,
+                engine.renderSubject(EmailTemplateType.VERIFICATION, Map.of("number", 123456)));
+    }
+
+    @Test
+    void escapesBodyVariablesOnly() throws IOException {
+        EmailTemplateEngine engine = newEngine("classpath:mail-templates/", false);
+        Map<String, Object> variables = Map.of("title", "<b>공지</b>", "message", "a & \"b\"");
+
+        String body = engine.renderBody(EmailTemplateType.NOTIFICATION, variables);
+
+        assertTrue(body.contains("<h2>&lt;b&gt;공지&lt;/b&gt;</h2>"));
+        assertTrue(body.contains("<p>a &amp; &quot;b&quot;</p>"));
+        assertEquals("[SP] <b>공지</b>", engine.renderSubject(EmailTemplateType.NOTIFICATION, variables));
+    }
+
+    @Test
+    void rendersMissingVariablesAsEmpty() {
+        EmailTemplate template = EmailTemplate.compile("a${ x }b${y}c", true, 0);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("x", 1);
+        variables.put("y", null);
+
+        StringBuilder buffer = new StringBuilder();
+        template.render(variables, buffer);
+
+        assertEquals("a1bc", buffer.toString());
+    }
+
+    @Test
+    void keepsUnterminatedPlaceholderAsText() {
+        EmailTemplate template = EmailTemplate.compile("${a} and ${b", false, 0);
+
+        StringBuilder buffer = new StringBuilder();
+        template.render(Map.of("a", "x", "b", "y"), buffer);
+
+        assertEquals("x and ${b", buffer.toString());
+    }
+
+    @Test
+    void reloadsModifiedTemplateWhenHotReloadIsOn() throws IOException {
+        Path dir = Files.createTempDirectory("mail-templates");
+        try {
+            for (EmailTemplateType type : EmailTemplateType.values()) {
+                Files.writeString(dir.resolve(type.getFileName()), "old ${number}");
+            }
+            EmailTemplateEngine engine = newEngine(dir.toUri().toString(), true);
+            assertEquals("old 1", engine.renderBody(EmailTemplateType.VERIFICATION, Map.of("number", 1)));
+
+            Path file = dir.resolve(EmailTemplateType.VERIFICATION.getFileName());
+            Files.writeString(file, "new ${number}");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+            assertEquals("new 1", engine.renderBody(EmailTemplateType.VERIFICATION, Map.of("number", 1)));
+        } finally {
+            for (EmailTemplateType type : EmailTemplateType.values()) {
+                Files.deleteIfExists(dir.resolve(type.getFileName()));
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static EmailTemplateEngine newEngine(String location, boolean hotReload) throws IOException {
+        return new EmailTemplateEngine(new DefaultResourceLoader(), location, hotReload);
+    }
+}
@@ -0,0 +1,27 @@
+package com.mg.api.smtp.template;
+
+/**
+ * 템플릿 도입 전 EmailService.createMail 의 인증 메일 본문 작성 로직 (비교용)
+ */
+final class LegacyVerificationMail {
+
+    static final String SUBJECT = "[SP] 회원가입을 위한 이메일 인증";
+
+    private LegacyVerificationMail() {
+    }
+
+    static String body(int number) {
+        String body = "";
+        body += "<h1>" + "안녕하세요." + "</h1>";
+        body += "<h1>" + "SP 입니다." + "</h1>";
+        body += "<h3>" + "회원가입을 위한 요청하신 인증 번호입니다." + "</h3><br>";
+        body += "<h2>" + "아래 코드를 회원가입 창으로 돌아가 입력해주세요." + "</h2>";
+
+        body += "<div align='center' style='border:1px solid black; font-family:verdana;'>";
+        body += "<h2>" + "회원가입 인증 코드입니다." + "</h2>";
+        body += "<h1 style='color:blue'>" + number + "</h1>";
+        body += "</div><br>";
+        body += "<h3>" + "감사합니다." + "</h3>";
+        return body;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mg.core.common.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-Agent 판별 비용 비교 (요청 1건당)
+ * - legacy : 기존 UserAccessLogInterceptor 로직 (매 요청 UserAgentUtils 파싱 + containsIgnoreCase)
+ * - classifierHit : UserAgentClassifier, 캐시 hit (운영 환경의 대부분 요청)
+ * - classifierMiss : UserAgentClassifier 의 캐시 miss 경로 (단일 순회 + OS 파싱)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserAgentClassifierBenchmark {
+
+    private String[] userAgents;
+    private UserAgentClassifier classifier;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        userAgents = UserAgentSamples.ALL.toArray(new String[0]);
+        classifier = new UserAgentClassifier(5000);
+        for (String userAgent : userAgents) {
+            classifier.classify(userAgent);
+        }
+    }
+
+    private String nextUserAgent() {
+        String userAgent = userAgents[next];
+        next = (next + 1) % userAgents.length;
+        return userAgent;
+    }
+
+    @Benchmark
+    public UserAgentClassifier.UserAgentInfo legacy() {
+        return LegacyUserAgentClassification.classify(nextUserAgent());
+    }
+
+    @Benchmark
+    public UserAgentClassifier.UserAgentInfo classifierHit() {
+        return classifier.classify(nextUserAgent());
+    }
+
+    @Benchmark
+    public UserAgentClassifier.UserAgentInfo classifierMiss() {
+        return UserAgentClassifier.parse(nextUserAgent());
+    }
+
+}
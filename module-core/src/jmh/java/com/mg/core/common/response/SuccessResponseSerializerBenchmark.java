@@ -0,0 +1,58 @@
+package com.mg.core.common.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성공 응답 JSON 직렬화 비용 비교 (응답 1건당)
+ * - bean : 기존 리플렉션 기반 Bean 직렬화 + @JsonFormat 으로 매번 timestamp 포맷
+ * - serializer : SuccessResponseSerializer (필드 직접 기록 + 초 단위 timestamp 캐시)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuccessResponseSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanObjectMapper;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        beanObjectMapper = BeanSuccessResponse.objectMapper();
+        data = new LinkedHashMap<>();
+        data.put("id", 1L);
+        data.put("email", "user@example.com");
+        data.put("name", "홍길동");
+    }
+
+    @Benchmark
+    public String bean() throws JsonProcessingException {
+        return beanObjectMapper.writeValueAsString(SuccessResponse.of(200, data));
+    }
+
+    @Benchmark
+    public String serializer() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(SuccessResponse.of(200, data));
+    }
+
+}
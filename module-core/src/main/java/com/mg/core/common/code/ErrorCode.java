@@ -27,6 +27,26 @@ public enum ErrorCode {
     INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "ITN", "유효하지 않은 토큰입니다."),
     TOKEN_EXPIRED(HttpStatus.UNAUTHORIZED, "TED", "만료된 토큰입니다."),
 
+    /**
+     * OAuth Error Code
+     */
+    OAUTH_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "OBSY", "소셜 로그인 요청이 많아 처리할 수 없습니다."),
+    OAUTH_TOKEN_NOT_ISSUED(HttpStatus.UNAUTHORIZED, "OTNI", "소셜 로그인 토큰을 발급받지 못했습니다."),
+
+    /**
+     * Mail Error Code
+     */
+    MAIL_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "MBSY", "메일 발송 요청이 많아 처리할 수 없습니다."),
+    MAIL_RESEND_TOO_SOON(HttpStatus.TOO_MANY_REQUESTS, "MRTS", "잠시 후 다시 요청해 주세요."),
+
+    /**
+     * Gateway Error Code
+     */
+    GATEWAY_CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "GCOP", "서비스를 일시적으로 이용할 수 없습니다."),
+    GATEWAY_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "GBSY", "요청이 많아 처리할 수 없습니다."),
+    GATEWAY_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "GTMO", "서비스 응답 시간이 초과되었습니다."),
+    GATEWAY_UPSTREAM_ERROR(HttpStatus.BAD_GATEWAY, "GUPE", "서비스 연결에 실패했습니다."),
+
     /**
      * Custom Error Code
      */
@@ -3,17 +3,14 @@ package com.mg.core.common.handler;
 import com.mg.core.common.annotation.MGRestController;
 import com.mg.core.common.response.SuccessResponse;
 import io.swagger.v3.oas.annotations.media.SchemaProperties;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
 @ControllerAdvice(annotations = MGRestController.class)
@@ -30,25 +27,13 @@ public class SuccessResponseHandler implements ResponseBodyAdvice<Object> {
             Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request,
             ServerHttpResponse response) {
 
-        ServletRequestAttributes requestAttributes = (ServletRequestAttributes) RequestContextHolder
-                .getRequestAttributes();
-        if (requestAttributes == null) {
+        // 현재 응답 객체에서 바로 상태 코드를 읽음 (RequestContextHolder 조회 생략)
+        if (!(response instanceof ServletServerHttpResponse servletServerHttpResponse)) {
             return body;
         }
+        int status = servletServerHttpResponse.getServletResponse().getStatus();
 
-        HttpServletResponse httpServletResponse = requestAttributes.getResponse();
-        if (httpServletResponse == null) {
-            return body;
-        }
-
-        int status = httpServletResponse.getStatus();
-        HttpStatus resolve = HttpStatus.resolve(status);
-
-        if (resolve == null) {
-            return body;
-        }
-
-        if (resolve.is2xxSuccessful()) {
+        if (status >= 200 && status < 300) {
             // String type의 경우, 값 그대로 반환, ClassCastException 방지
             if (body instanceof String) {
                 return body;
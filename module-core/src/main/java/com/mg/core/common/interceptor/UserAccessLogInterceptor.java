@@ -1,26 +1,27 @@
 package com.mg.core.common.interceptor;
 
 import com.mg.core.dto.mg.UserAccessLogDTO;
-import com.mg.core.mapper.db1.userAccess.UserAccessMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.User;
-import org.apache.commons.lang3.StringUtils;
 import org.checkerframework.checker.compilermsgs.qual.CompilerMessageKey;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
-import eu.bitwalker.useragentutils.UserAgent;
+
+import java.util.Date;
 
 @Component
 @Slf4j
 public class UserAccessLogInterceptor implements HandlerInterceptor {
 
-    private final UserAccessMapper userAccessMapper;
+    private final UserAccessLogWriter userAccessLogWriter;
+    private final UserAgentClassifier userAgentClassifier;
 
-    public UserAccessLogInterceptor(UserAccessMapper userAccessMapper) {
-        this.userAccessMapper = userAccessMapper;
+    public UserAccessLogInterceptor(UserAccessLogWriter userAccessLogWriter, UserAgentClassifier userAgentClassifier) {
+        this.userAccessLogWriter = userAccessLogWriter;
+        this.userAgentClassifier = userAgentClassifier;
     }
 
     // api 호출 시 먼저 실행됨
@@ -37,10 +38,7 @@ public class UserAccessLogInterceptor implements HandlerInterceptor {
         String userAgent = request.getHeader("User-Agent");
 
         // userAgent 헤더 확인용
-        log.info("USER AGENT : {}", userAgent);
-
-        UserAgent userAgentInfo = UserAgent.parseUserAgentString(userAgent);
-        String os = userAgentInfo.getOperatingSystem().getName();
+        log.debug("USER AGENT : {}", userAgent);
 
         /*
          * 2024-07-29 일자 각 browser 별 user Agent 문자열
@@ -76,60 +74,24 @@ public class UserAccessLogInterceptor implements HandlerInterceptor {
          * - 따라서 chrome, safari는 else if 판별 우선순위가 떨어짐(edge, whale, opera 먼저 판별)
          */
 
-        String browser;
-        String browserVersion;
-        if (StringUtils.containsIgnoreCase(userAgent, "Edg")) {// 엣지
-            browser = "Edge";
-            browserVersion = versionExtractor(userAgent, "Edg");
-        } else if (StringUtils.containsIgnoreCase(userAgent, "Whale")) {// 웨일
-            browser = "Whale";
-            browserVersion = versionExtractor(userAgent, "Whale");
-        } else if (StringUtils.containsIgnoreCase(userAgent, "OPR")) {// 오페라
-            browser = "Opera";
-            browserVersion = versionExtractor(userAgent, "OPR");
-        } else if (StringUtils.containsIgnoreCase(userAgent, "Chrome")) {// 크롬
-            browser = "Chrome";
-            browserVersion = versionExtractor(userAgent, "Chrome");
-        } else if (StringUtils.containsIgnoreCase(userAgent, "Firefox")) {// 파이어폭스
-            browser = "Firefox";
-            browserVersion = versionExtractor(userAgent, "Firefox");
-        } else if (StringUtils.containsIgnoreCase(userAgent, "Safari")) {// 사파리
-            browser = "Safari";
-            // 사파리에서는 독자적으로 버전 항목이 존재
-            browserVersion = userAgentInfo.getBrowserVersion().getVersion();
-        } else {
-            browser = "Unknown";
-            browserVersion = "Unknown";
-        }
-
-        String deviceType = userAgentInfo.getOperatingSystem().getDeviceType().getName();
+        // 브라우저 판별 로직은 UserAgentClassifier 참고 (UA 문자열 단위로 캐싱)
+        UserAgentClassifier.UserAgentInfo userAgentInfo = userAgentClassifier.classify(userAgent);
 
         UserAccessLogDTO userAccessLogDTO = UserAccessLogDTO.builder()
                 .ipAddress(ipAddress)
                 .requestUrl(requestUrl)
                 .referrerUrl(refererUrl)
                 .userAgent(userAgent)
-                .browser(browser)
-                .browserVersion(browserVersion)
-                .operatingSystem(os)
-                .deviceType(deviceType)
+                .browser(userAgentInfo.getBrowser())
+                .browserVersion(userAgentInfo.getBrowserVersion())
+                .operatingSystem(userAgentInfo.getOperatingSystem())
+                .deviceType(userAgentInfo.getDeviceType())
+                .accessTime(new Date())
                 .build();
 
-        // db 로그 적재
-        userAccessMapper.insertUserAccessLog(userAccessLogDTO);
+        // db 로그 적재 (비동기 batch 적재, 요청 스레드는 큐에만 적재)
+        userAccessLogWriter.write(userAccessLogDTO);
 
         return true;
     }
-
-    // user agent 에서 브라우저 별 버전 추출
-    public String versionExtractor(String input, String prefix) {
-        int prefixIndex = input.indexOf(prefix);
-        int startIndex = prefixIndex + prefix.length() + 1; // +1 for the slash
-        int endIndex = input.indexOf(" ", startIndex);
-        if (endIndex == -1) {
-            endIndex = input.length();
-        }
-
-        return input.substring(startIndex, endIndex);
-    }
 }
@@ -0,0 +1,188 @@
+package com.mg.core.common.interceptor;
+
+import com.mg.core.dto.mg.UserAccessLogDTO;
+import com.mg.core.mapper.db1.userAccess.UserAccessMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 접속 로그 비동기 적재기
+ * 요청 스레드는 bounded 큐에 적재만 하고, 별도 drainer 스레드가 MyBatis BATCH executor 로 묶어서 insert 한다.
+ */
+@Component
+@Slf4j
+public class UserAccessLogWriter {
+
+    /**
+     * 큐가 가득 찼을 때의 처리 정책
+     * DROP - 즉시 버림
+     * BLOCK - blockTimeoutMs 만큼 대기 후에도 공간이 없으면 버림
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK;
+    }
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BlockingQueue<UserAccessLogDTO> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public UserAccessLogWriter(@Qualifier("db1SqlSessionFactory") SqlSessionFactory sqlSessionFactory,
+            @Value("${custom.access-log.queue-capacity:10000}") int queueCapacity,
+            @Value("${custom.access-log.flush-size:500}") int flushSize,
+            @Value("${custom.access-log.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${custom.access-log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${custom.access-log.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "user-access-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 종료 시 drainer 를 멈추고 큐에 남은 로그를 모두 적재
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(flushIntervalMs * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<UserAccessLogDTO> remain = new ArrayList<>(flushSize);
+        while (queue.drainTo(remain, flushSize) > 0) {
+            flush(remain);
+            remain.clear();
+        }
+        log.info("UserAccessLogWriter stopped. written: {}, dropped: {}", writtenCount.get(), droppedCount.get());
+    }
+
+    /**
+     * 접속 로그를 큐에 적재
+     *
+     * @param dto 접속 로그
+     * @return 적재 성공 여부 (overflow 로 버려진 경우 false)
+     */
+    public boolean write(UserAccessLogDTO dto) {
+        boolean offered;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                offered = queue.offer(dto, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                offered = false;
+            }
+        } else {
+            offered = queue.offer(dto);
+        }
+
+        if (!offered) {
+            long dropped = droppedCount.incrementAndGet();
+            // 로그 폭주 방지를 위해 일정 건수마다 출력
+            if (dropped % 1000 == 1) {
+                log.warn("UserAccessLog queue is full. dropped total: {}", dropped);
+            }
+        }
+        return offered;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<UserAccessLogDTO> buffer = new ArrayList<>(flushSize);
+        long lastFlush = System.currentTimeMillis();
+
+        while (running) {
+            try {
+                UserAccessLogDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    buffer.add(first);
+                    queue.drainTo(buffer, flushSize - buffer.size());
+                }
+            } catch (InterruptedException e) {
+                // stop() 에서 남은 로그를 처리
+                break;
+            }
+
+            long now = System.currentTimeMillis();
+            if (buffer.size() >= flushSize || (!buffer.isEmpty() && now - lastFlush >= flushIntervalMs)) {
+                flush(buffer);
+                buffer.clear();
+                lastFlush = now;
+            }
+        }
+
+        if (!buffer.isEmpty()) {
+            flush(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * BATCH executor 세션으로 한 번에 적재
+     *
+     * @param list 적재할 접속 로그 목록
+     */
+    private void flush(List<UserAccessLogDTO> list) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            UserAccessMapper mapper = session.getMapper(UserAccessMapper.class);
+            for (UserAccessLogDTO dto : list) {
+                mapper.insertUserAccessLog(dto);
+            }
+            session.flushStatements();
+            session.commit();
+            writtenCount.addAndGet(list.size());
+        } catch (Exception e) {
+            log.error("UserAccessLog batch insert failed. size: {}", list.size(), e);
+        }
+    }
+
+}
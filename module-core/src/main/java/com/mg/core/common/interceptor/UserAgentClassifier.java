@@ -0,0 +1,130 @@
+package com.mg.core.common.interceptor;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import eu.bitwalker.useragentutils.Browser;
+import eu.bitwalker.useragentutils.OperatingSystem;
+import eu.bitwalker.useragentutils.Version;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * User-Agent 분류기
+ * 서비스로 들어오는 User-Agent 문자열의 종류는 많지 않으므로, 문자열 단위로 분류 결과(브라우저, 버전, OS, 기기)를 캐싱한다.
+ * 캐시 miss 시에는 문자열을 한 번만 순회하며 브라우저 토큰 위치를 찾는다.
+ */
+@Component
+public class UserAgentClassifier {
+
+    /**
+     * User-Agent 분류 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class UserAgentInfo {
+        private final String browser;
+        private final String browserVersion;
+        private final String operatingSystem;
+        private final String deviceType;
+    }
+
+    /**
+     * 브라우저 판별 우선순위 순서 (edge, whale, opera 는 chrome/safari 정보를 포함하므로 먼저 판별)
+     */
+    private static final String[] BROWSER_TOKENS = { "Edg", "Whale", "OPR", "Chrome", "Firefox", "Safari" };
+    private static final String[] BROWSER_NAMES = { "Edge", "Whale", "Opera", "Chrome", "Firefox", "Safari" };
+    private static final int SAFARI = 5;
+    private static final String UNKNOWN = "Unknown";
+
+    private final LoadingCache<String, UserAgentInfo> cache;
+
+    public UserAgentClassifier(@Value("${custom.user-agent-cache.maximum-size:5000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(UserAgentClassifier::parse);
+    }
+
+    /**
+     * User-Agent 문자열 분류 (캐시 사용)
+     *
+     * @param userAgent User-Agent 헤더 값
+     * @return 분류 결과
+     */
+    public UserAgentInfo classify(String userAgent) {
+        return cache.get(userAgent == null ? "" : userAgent);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * User-Agent 문자열 분석 (캐시 miss 시 호출)
+     *
+     * @param userAgent User-Agent 헤더 값
+     * @return 분류 결과
+     */
+    static UserAgentInfo parse(String userAgent) {
+        int[] tokenIndex = new int[BROWSER_TOKENS.length];
+        Arrays.fill(tokenIndex, -1);
+
+        // 한 번의 순회로 각 토큰의 첫 위치(대소문자 무시)를 기록
+        int length = userAgent.length();
+        for (int i = 0; i < length; i++) {
+            char c = Character.toUpperCase(userAgent.charAt(i));
+            for (int t = 0; t < BROWSER_TOKENS.length; t++) {
+                String token = BROWSER_TOKENS[t];
+                if (tokenIndex[t] < 0 && c == Character.toUpperCase(token.charAt(0))
+                        && userAgent.regionMatches(true, i, token, 0, token.length())) {
+                    tokenIndex[t] = i;
+                }
+            }
+        }
+
+        String browser = UNKNOWN;
+        String browserVersion = UNKNOWN;
+        for (int t = 0; t < BROWSER_TOKENS.length; t++) {
+            if (tokenIndex[t] >= 0) {
+                browser = BROWSER_NAMES[t];
+                if (t == SAFARI) {
+                    // 사파리에서는 독자적으로 버전 항목이 존재 (Version/, CriOS/ 등은 UserAgentUtils 로 판별)
+                    Version version = Browser.parseUserAgentString(userAgent).getVersion(userAgent);
+                    browserVersion = version != null ? version.getVersion() : UNKNOWN;
+                } else {
+                    browserVersion = versionExtractor(userAgent, tokenIndex[t], BROWSER_TOKENS[t].length());
+                }
+                break;
+            }
+        }
+
+        OperatingSystem os = OperatingSystem.parseUserAgentString(userAgent);
+        return new UserAgentInfo(browser, browserVersion, os.getName(), os.getDeviceType().getName());
+    }
+
+    /**
+     * user agent 에서 브라우저 별 버전 추출
+     *
+     * @param input        User-Agent 문자열
+     * @param prefixIndex  브라우저 토큰 위치
+     * @param prefixLength 브라우저 토큰 길이
+     * @return 버전 문자열
+     */
+    private static String versionExtractor(String input, int prefixIndex, int prefixLength) {
+        int startIndex = prefixIndex + prefixLength + 1; // +1 for the slash
+        if (startIndex > input.length()) {
+            return UNKNOWN;
+        }
+        int endIndex = input.indexOf(' ', startIndex);
+        if (endIndex == -1) {
+            endIndex = input.length();
+        }
+        return input.substring(startIndex, endIndex);
+    }
+
+}
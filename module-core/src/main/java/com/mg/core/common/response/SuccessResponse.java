@@ -1,6 +1,6 @@
 package com.mg.core.common.response;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @Getter
 @Builder
 @AllArgsConstructor
+@JsonSerialize(using = SuccessResponseSerializer.class)
 public class SuccessResponse {
 
     /**
@@ -18,8 +19,8 @@ public class SuccessResponse {
     private int status;
     private Object data;
 
+    // "yyyy-MM-dd HH:mm:ss" 포맷은 SuccessResponseSerializer 에서 지정
     @Builder.Default
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp = LocalDateTime.now();
 
     /**
@@ -0,0 +1,67 @@
+package com.mg.core.common.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * SuccessResponse 직렬화
+ * 리플렉션 기반 Bean 직렬화 대신 status, data, timestamp 를 JsonGenerator 에 바로 기록한다.
+ * timestamp 는 초 단위로 포맷 결과를 캐싱해, 같은 초에 생성된 응답은 포맷을 다시 하지 않는다.
+ * 결과 JSON 은 기존 Bean 직렬화 결과와 같다. (필드 순서, "yyyy-MM-dd HH:mm:ss" 포맷)
+ */
+public class SuccessResponseSerializer extends StdSerializer<SuccessResponse> {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 초 단위 포맷 캐시 (불변 객체를 통째로 교체하므로 lock 없이 사용)
+     */
+    private static final class FormattedSecond {
+        private final long epochSecond;
+        private final String formatted;
+
+        private FormattedSecond(long epochSecond, String formatted) {
+            this.epochSecond = epochSecond;
+            this.formatted = formatted;
+        }
+    }
+
+    private static volatile FormattedSecond lastSecond = new FormattedSecond(Long.MIN_VALUE, null);
+
+    public SuccessResponseSerializer() {
+        super(SuccessResponse.class);
+    }
+
+    @Override
+    public void serialize(SuccessResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeNumberField("status", value.getStatus());
+        gen.writeFieldName("data");
+        provider.defaultSerializeValue(value.getData(), gen);
+        gen.writeFieldName("timestamp");
+        if (value.getTimestamp() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(formatTimestamp(value.getTimestamp()));
+        }
+        gen.writeEndObject();
+    }
+
+    static String formatTimestamp(LocalDateTime timestamp) {
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        FormattedSecond cached = lastSecond;
+        if (cached.epochSecond == epochSecond) {
+            return cached.formatted;
+        }
+        String formatted = TIMESTAMP_FORMATTER.format(timestamp);
+        lastSecond = new FormattedSecond(epochSecond, formatted);
+        return formatted;
+    }
+
+}
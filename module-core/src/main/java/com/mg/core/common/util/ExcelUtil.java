@@ -1,17 +1,48 @@
 package com.mg.core.common.util;
 
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Excel 파일을 읽고 쓰는 유틸리티 클래스입니다.
  */
 public class ExcelUtil {
+
+    /**
+     * 스트리밍 쓰기 시 메모리에 유지할 행 수 (초과분은 임시 파일로 flush)
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW = 100;
+
     /**
      * 지정된 Excel 파일에서 데이터를 읽어옵니다.
      *
@@ -54,8 +85,63 @@ public class ExcelUtil {
         return resultList;
     }
 
+    /**
+     * 지정된 Excel 파일의 첫 번째 시트를 SAX(이벤트) 방식으로 한 행씩 읽어 전달합니다.
+     * 워크북 전체를 메모리에 올리지 않으므로 파일 크기와 관계없이 메모리 사용량이 일정하며,
+     * 행 처리가 끝나야 다음 행을 읽으므로 소비 속도에 맞춰 읽기가 진행됩니다.
+     * keys, haveHead 의 의미와 첫 번째 셀이 비어있는 행을 건너뛰는 규칙은 readExcel 과 같습니다.
+     * 셀 값은 Excel 에 표시되는 서식 적용 값으로 전달됩니다.
+     *
+     * @param file        Excel 파일
+     * @param keys        각 열에 대응하는 키 배열
+     * @param haveHead    테이블 헤더가 있는지 여부
+     * @param rowMapper   행 맵을 원하는 타입으로 변환하는 함수
+     * @param rowConsumer 변환된 행을 처리하는 함수
+     * @param <T>         행 타입
+     * @throws IOException 파일을 읽을 수 없거나 형식이 잘못된 경우
+     */
+    public static <T> void readExcel(File file, String[] keys, boolean haveHead,
+            Function<Map<String, String>, T> rowMapper, Consumer<T> rowConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) { // 첫 번째 시트 접근
+                SheetContentsHandler handler = new StreamingRowHandler<>(keys, haveHead, rowMapper, rowConsumer);
+                XMLReader parser = SAXHelper.newXMLReader();
+                parser.setContentHandler(
+                        new XSSFSheetXMLHandler(styles, null, strings, handler, new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Excel 파일을 읽을 수 없습니다. >>> " + file.getName(), e);
+        }
+    }
+
+    /**
+     * 지정된 Excel 파일의 행을 한 행씩 맵으로 전달합니다.
+     *
+     * @param file        Excel 파일
+     * @param keys        각 열에 대응하는 키 배열
+     * @param haveHead    테이블 헤더가 있는지 여부
+     * @param rowConsumer 행을 처리하는 함수
+     * @throws IOException 파일을 읽을 수 없거나 형식이 잘못된 경우
+     */
+    public static void readExcel(File file, String[] keys, boolean haveHead,
+            Consumer<Map<String, String>> rowConsumer) throws IOException {
+        readExcel(file, keys, haveHead, Function.identity(), rowConsumer);
+    }
+
     /**
      * 새 Excel 파일을 생성합니다.
+     * 같은 디렉터리의 임시 파일에 먼저 쓴 뒤 완성되면 path 로 옮기므로,
+     * 작성 중 실패해도 path 에 잘린 파일이 남지 않습니다.
      *
      * @param path       파일 경로
      * @param sheetName  시트 이름
@@ -65,7 +151,79 @@ public class ExcelUtil {
      */
     public static void createExcel(String path, String sheetName, String[] dataTitles,
             List<Map<String, String>> dataList, String[] keys) {
-        try (Workbook workbook = new XSSFWorkbook()) {
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writeExcel(out, sheetName, dataTitles, dataList.iterator(), keys);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            // 이동하지 못한 임시 파일 정리
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * 행 스트림을 Excel 로 변환해 OutputStream 에 씁니다.
+     * SXSSF 워크북을 사용하므로 행 수와 관계없이 메모리에는 window 크기만큼의 행만 유지됩니다.
+     * 스트림은 호출한 쪽에서 닫아야 합니다.
+     *
+     * @param out        출력 스트림 (닫지 않음)
+     * @param sheetName  시트 이름
+     * @param dataTitles 열 제목
+     * @param rows       데이터 행 스트림
+     * @param keys       데이터의 키 배열
+     * @throws IOException 쓰기 실패 시
+     */
+    public static void writeExcel(OutputStream out, String sheetName, String[] dataTitles,
+            Stream<Map<String, String>> rows, String[] keys) throws IOException {
+        writeExcel(out, sheetName, dataTitles, rows.iterator(), keys);
+    }
+
+    /**
+     * 행 Iterator 를 Excel 로 변환해 OutputStream 에 씁니다.
+     * SXSSF 워크북을 사용하므로 행 수와 관계없이 메모리에는 window 크기만큼의 행만 유지됩니다.
+     *
+     * @param out        출력 스트림 (닫지 않음)
+     * @param sheetName  시트 이름
+     * @param dataTitles 열 제목
+     * @param rows       데이터 행 Iterator
+     * @param keys       데이터의 키 배열
+     * @throws IOException 쓰기 실패 시
+     */
+    public static void writeExcel(OutputStream out, String sheetName, String[] dataTitles,
+            Iterator<Map<String, String>> rows, String[] keys) throws IOException {
+        writeExcel(out, sheetName, dataTitles, rows, keys, DEFAULT_ROW_ACCESS_WINDOW);
+    }
+
+    /**
+     * 행 Iterator 를 Excel 로 변환해 OutputStream 에 씁니다.
+     *
+     * @param out        출력 스트림 (닫지 않음)
+     * @param sheetName  시트 이름
+     * @param dataTitles 열 제목
+     * @param rows       데이터 행 Iterator
+     * @param keys       데이터의 키 배열
+     * @param windowSize 메모리에 유지할 행 수
+     * @throws IOException 쓰기 실패 시
+     */
+    public static void writeExcel(OutputStream out, String sheetName, String[] dataTitles,
+            Iterator<Map<String, String>> rows, String[] keys, int windowSize) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        // 임시 파일 용량을 줄이기 위해 압축
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet(sheetName); // 새 시트 생성
             int rowIndex = 0;
 
@@ -76,8 +234,9 @@ public class ExcelUtil {
                 cell.setCellValue(dataTitles[i]);
             }
 
-            // 데이터 행 채우기
-            for (Map<String, String> dataMap : dataList) {
+            // 데이터 행 채우기 (window 를 벗어난 행은 임시 파일로 flush 됨)
+            while (rows.hasNext()) {
+                Map<String, String> dataMap = rows.next();
                 Row row = sheet.createRow(rowIndex++);
                 for (int i = 0; i < keys.length; i++) {
                     Cell cell = row.createCell(i);
@@ -85,12 +244,71 @@ public class ExcelUtil {
                 }
             }
 
-            // 파일로 쓰기
-            try (FileOutputStream out = new FileOutputStream(path)) {
-                workbook.write(out);
+            workbook.write(out);
+            out.flush();
+        } finally {
+            // 임시 파일 삭제
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * SAX 이벤트를 행 단위로 모아 전달하는 핸들러
+     */
+    private static class StreamingRowHandler<T> implements SheetContentsHandler {
+
+        private final String[] keys;
+        private final boolean haveHead;
+        private final Function<Map<String, String>, T> rowMapper;
+        private final Consumer<T> rowConsumer;
+        private final String[] values;
+
+        private int currentCol;
+
+        StreamingRowHandler(String[] keys, boolean haveHead, Function<Map<String, String>, T> rowMapper,
+                Consumer<T> rowConsumer) {
+            this.keys = keys;
+            this.haveHead = haveHead;
+            this.rowMapper = rowMapper;
+            this.rowConsumer = rowConsumer;
+            this.values = new String[keys.length];
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentCol = -1;
+            Arrays.fill(values, "");
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (haveHead && rowNum == 0) { // 헤더가 있으면 1부터 시작
+                return;
+            }
+            if (values.length == 0 || values[0].trim().isEmpty()) {
+                return;
+            }
+
+            Map<String, String> rowMap = new HashMap<>();
+            for (int colIndex = 0; colIndex < keys.length; colIndex++) {
+                rowMap.put(keys[colIndex], values[colIndex]);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+            rowConsumer.accept(rowMapper.apply(rowMap));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 빈 셀은 이벤트가 발생하지 않으므로 참조로 열 위치를 계산
+            currentCol = cellReference == null ? currentCol + 1 : new CellReference(cellReference).getCol();
+            if (currentCol >= 0 && currentCol < values.length && formattedValue != null) {
+                values[currentCol] = formattedValue;
+            }
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // 머리글/바닥글은 사용하지 않음
         }
     }
 }
@@ -8,13 +8,16 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.CacheControl;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 
@@ -25,6 +28,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
     // url 접근 시 접근 로그를 쌓는 interceptor
     private final UserAccessLogInterceptor userAccessLogInterceptor;
 
+    // 정적 페이지 캐시 유지 시간 (gateway 응답 캐시에서도 사용)
+    @Value("${custom.static.max-age-seconds:600}")
+    private long staticMaxAgeSeconds;
+
     @Bean
     public SessionLocaleResolver localeResolver() {
         SessionLocaleResolver localeResolver = new SessionLocaleResolver();
@@ -53,6 +60,14 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .addPathPatterns("/**");
     }
 
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // 공유 캐시(gateway ResponseCacheFilter) 에 저장할 수 있도록 public 으로 지정
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofSeconds(staticMaxAgeSeconds)).cachePublic());
+    }
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
@@ -0,0 +1,61 @@
+package com.mg.core.common.interceptor;
+
+import eu.bitwalker.useragentutils.UserAgent;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * UserAgentClassifier 도입 전 UserAccessLogInterceptor 의 판별 로직 (비교 기준)
+ * 결과 검증(UserAgentClassifierTest)과 벤치마크(UserAgentClassifierBenchmark)에서 사용한다.
+ */
+final class LegacyUserAgentClassification {
+
+    private LegacyUserAgentClassification() {
+    }
+
+    static UserAgentClassifier.UserAgentInfo classify(String userAgent) {
+        UserAgent userAgentInfo = UserAgent.parseUserAgentString(userAgent);
+        String os = userAgentInfo.getOperatingSystem().getName();
+
+        String browser;
+        String browserVersion;
+        if (StringUtils.containsIgnoreCase(userAgent, "Edg")) {// 엣지
+            browser = "Edge";
+            browserVersion = versionExtractor(userAgent, "Edg");
+        } else if (StringUtils.containsIgnoreCase(userAgent, "Whale")) {// 웨일
+            browser = "Whale";
+            browserVersion = versionExtractor(userAgent, "Whale");
+        } else if (StringUtils.containsIgnoreCase(userAgent, "OPR")) {// 오페라
+            browser = "Opera";
+            browserVersion = versionExtractor(userAgent, "OPR");
+        } else if (StringUtils.containsIgnoreCase(userAgent, "Chrome")) {// 크롬
+            browser = "Chrome";
+            browserVersion = versionExtractor(userAgent, "Chrome");
+        } else if (StringUtils.containsIgnoreCase(userAgent, "Firefox")) {// 파이어폭스
+            browser = "Firefox";
+            browserVersion = versionExtractor(userAgent, "Firefox");
+        } else if (StringUtils.containsIgnoreCase(userAgent, "Safari")) {// 사파리
+            browser = "Safari";
+            // 사파리에서는 독자적으로 버전 항목이 존재
+            browserVersion = userAgentInfo.getBrowserVersion().getVersion();
+        } else {
+            browser = "Unknown";
+            browserVersion = "Unknown";
+        }
+
+        String deviceType = userAgentInfo.getOperatingSystem().getDeviceType().getName();
+        return new UserAgentClassifier.UserAgentInfo(browser, browserVersion, os, deviceType);
+    }
+
+    // user agent 에서 브라우저 별 버전 추출
+    private static String versionExtractor(String input, String prefix) {
+        int prefixIndex = input.indexOf(prefix);
+        int startIndex = prefixIndex + prefix.length() + 1; // +1 for the slash
+        int endIndex = input.indexOf(" ", startIndex);
+        if (endIndex == -1) {
+            endIndex = input.length();
+        }
+
+        return input.substring(startIndex, endIndex);
+    }
+
+}
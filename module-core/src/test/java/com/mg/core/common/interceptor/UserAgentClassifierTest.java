@@ -0,0 +1,53 @@
+package com.mg.core.common.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserAgentClassifierTest {
+
+    private final UserAgentClassifier classifier = new UserAgentClassifier(100);
+
+    @Test
+    void classifiesLikeTheInterceptorDid() {
+        for (String userAgent : UserAgentSamples.ALL) {
+            UserAgentClassifier.UserAgentInfo expected = LegacyUserAgentClassification.classify(userAgent);
+            UserAgentClassifier.UserAgentInfo actual = classifier.classify(userAgent);
+
+            assertEquals(expected.getBrowser(), actual.getBrowser(), userAgent);
+            assertEquals(expected.getBrowserVersion(), actual.getBrowserVersion(), userAgent);
+            assertEquals(expected.getOperatingSystem(), actual.getOperatingSystem(), userAgent);
+            assertEquals(expected.getDeviceType(), actual.getDeviceType(), userAgent);
+        }
+    }
+
+    @Test
+    void matchesBrowserTokensIgnoringCase() {
+        UserAgentClassifier.UserAgentInfo info = classifier.classify("SomeClient edg/99.1 (compatible)");
+
+        assertEquals("Edge", info.getBrowser());
+        assertEquals("99.1", info.getBrowserVersion());
+    }
+
+    @Test
+    void reportsUnknownVersionWhenTokenHasNoVersion() {
+        // 기존 로직은 토큰 뒤 문자열이 없으면 예외가 발생했음
+        assertEquals("Unknown", classifier.classify("Chrome").getBrowserVersion());
+    }
+
+    @Test
+    void cachesResultPerUserAgent() {
+        String userAgent = UserAgentSamples.ALL.get(0);
+
+        assertSame(classifier.classify(userAgent), classifier.classify(userAgent));
+        assertEquals(1, classifier.getStats().hitCount());
+    }
+
+    @Test
+    void treatsMissingHeaderAsEmpty() {
+        assertSame(classifier.classify(""), classifier.classify(null));
+        assertEquals("Unknown", classifier.classify(null).getBrowser());
+    }
+
+}
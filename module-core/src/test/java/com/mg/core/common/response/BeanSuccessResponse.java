@@ -0,0 +1,31 @@
+package com.mg.core.common.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDateTime;
+
+/**
+ * SuccessResponseSerializer 도입 전 Bean 직렬화 설정 (비교용)
+ * mix-in 으로 전용 serializer 를 해제하고 timestamp 포맷을 기존 @JsonFormat 으로 지정한다.
+ */
+final class BeanSuccessResponse {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class Mixin {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime timestamp;
+    }
+
+    private BeanSuccessResponse() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .addMixIn(SuccessResponse.class, Mixin.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mg.core.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class SuccessResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectMapper beanObjectMapper = BeanSuccessResponse.objectMapper();
+
+    @Test
+    void comparesAgainstBeanSerializer() throws Exception {
+        assertInstanceOf(SuccessResponseSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(SuccessResponse.class));
+        assertInstanceOf(BeanSerializer.class,
+                beanObjectMapper.getSerializerProviderInstance().findValueSerializer(SuccessResponse.class));
+    }
+
+    @Test
+    void writesSameJsonAsBeanSerializer() throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", 1L);
+        map.put("name", "홍길동 \"quoted\"");
+        map.put("tags", List.of("a", "b"));
+        map.put("empty", null);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_000_000);
+
+        for (Object data : Arrays.asList(null, "ok", 42, true, map, List.of(map, map), new int[] { 1, 2 })) {
+            SuccessResponse response = new SuccessResponse(200, data, timestamp);
+            assertEquals(beanObjectMapper.writeValueAsString(response), objectMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    void writesNullTimestampLikeBeanSerializer() throws Exception {
+        SuccessResponse response = new SuccessResponse(204, null, null);
+
+        assertEquals(beanObjectMapper.writeValueAsString(response), objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void formatsEachSecondSeparately() throws Exception {
+        // 초 단위 캐시가 다른 초 / 같은 초의 값을 섞지 않는지 확인
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+        for (LocalDateTime timestamp : List.of(base, base.plusNanos(500_000_000), base.plusSeconds(1), base,
+                base.plusDays(1))) {
+            SuccessResponse response = SuccessResponse.builder().status(200).data("ok").timestamp(timestamp).build();
+            assertEquals(beanObjectMapper.writeValueAsString(response), objectMapper.writeValueAsString(response));
+        }
+    }
+}
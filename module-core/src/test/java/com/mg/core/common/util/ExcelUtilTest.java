@@ -0,0 +1,74 @@
+package com.mg.core.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelUtilTest {
+
+    private static final String[] TITLES = {"이름", "나이"};
+    private static final String[] KEYS = {"name", "age"};
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("excel-util-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void createsWorkbookAtPath() {
+        Path target = dir.resolve("out.xlsx");
+
+        ExcelUtil.createExcel(target.toString(), "sheet", TITLES,
+                List.of(Map.of("name", "kim", "age", "30")), KEYS);
+
+        List<Map<String, String>> rows = ExcelUtil.readExcel(target.toFile(), KEYS, true, false);
+        assertEquals(1, rows.size());
+        assertEquals("kim", rows.get(0).get("name"));
+        assertEquals(List.of("out.xlsx"), fileNames());
+    }
+
+    @Test
+    void failedWriteKeepsExistingFileAndLeavesNoTempFile() throws IOException {
+        Path target = dir.resolve("out.xlsx");
+        byte[] previous = "previous".getBytes();
+        Files.write(target, previous);
+
+        // null 행은 워크북 작성 도중 실패시킴
+        List<Map<String, String>> rows = Arrays.asList(Map.of("name", "kim", "age", "30"), null);
+        assertThrows(NullPointerException.class,
+                () -> ExcelUtil.createExcel(target.toString(), "sheet", TITLES, rows, KEYS));
+
+        assertArrayEquals(previous, Files.readAllBytes(target));
+        assertEquals(List.of("out.xlsx"), fileNames());
+    }
+
+    private List<String> fileNames() {
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.map(p -> p.getFileName().toString()).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
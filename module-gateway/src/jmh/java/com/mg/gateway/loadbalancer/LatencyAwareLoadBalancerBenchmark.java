@@ -0,0 +1,61 @@
+package com.mg.gateway.loadbalancer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mg.gateway.loadbalancer.TestServiceInstances.SERVICE_ID;
+
+/**
+ * Cost of choosing an instance out of 8 (per request)
+ * - roundRobin : the default RoundRobinLoadBalancer
+ * - latencyAware : LatencyAwareLoadBalancer (ejection check + two decayed EWMA costs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyAwareLoadBalancerBenchmark {
+
+    private RoundRobinLoadBalancer roundRobinLoadBalancer;
+    private LatencyAwareLoadBalancer latencyAwareLoadBalancer;
+
+    @Setup
+    public void setUp() {
+        List<ServiceInstance> instances = TestServiceInstances.instances(8);
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 5, 50);
+        long now = System.nanoTime();
+        for (int i = 0; i < instances.size(); i++) {
+            stats.record(SERVICE_ID, stats.get(SERVICE_ID, instances.get(i)), (i + 1) * 1_000_000L, false, now);
+        }
+        roundRobinLoadBalancer = new RoundRobinLoadBalancer(TestServiceInstances.provider(instances), SERVICE_ID);
+        latencyAwareLoadBalancer = new LatencyAwareLoadBalancer(SERVICE_ID, TestServiceInstances.provider(instances),
+                stats);
+    }
+
+    @Benchmark
+    public Response<ServiceInstance> roundRobin() {
+        return roundRobinLoadBalancer.choose(null).block();
+    }
+
+    @Benchmark
+    public Response<ServiceInstance> latencyAware() {
+        return latencyAwareLoadBalancer.choose(null).block();
+    }
+
+}
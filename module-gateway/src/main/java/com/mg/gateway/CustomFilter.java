@@ -1,38 +1,128 @@
 package com.mg.gateway;
 
+import com.mg.core.common.code.ErrorCode;
+import com.mg.gateway.auth.GatewayJwtVerifier;
+import com.mg.gateway.auth.VerifiedToken;
+import com.mg.gateway.support.ErrorResponseWriter;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @Slf4j
 public class CustomFilter extends AbstractGatewayFilterFactory<CustomFilter.Config> {
 
+    /**
+     * Trusted headers forwarded to the backend once the token is verified.
+     * Values sent by the client are removed on every route by TrustedHeaderFilter.
+     */
+    public static final String USER_ID_HEADER = "X-Auth-User-Id";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+
+    /**
+     * Exchange attribute holding the verified subject (used by RateLimitFilter).
+     */
+    public static final String AUTH_SUBJECT_ATTR = CustomFilter.class.getName() + ".subject";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final GatewayJwtVerifier gatewayJwtVerifier;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Data
     public static class Config {
-        // Put the configuration properties
+        // reject requests without a token (tokens that are present are always verified)
+        private boolean required;
+        // paths passed through without looking at the token
+        private List<String> publicPaths = new ArrayList<>();
+        // paths under a public path whose token is still verified
+        private List<String> requiredPaths = new ArrayList<>();
     }
 
-    public CustomFilter() {
+    public CustomFilter(GatewayJwtVerifier gatewayJwtVerifier, ErrorResponseWriter errorResponseWriter) {
         super(Config.class);
+        this.gatewayJwtVerifier = gatewayJwtVerifier;
+        this.errorResponseWriter = errorResponseWriter;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
-        // Custom Pre Filter. Suppose we can extract JWT and perform Authentication
+        PathPatternParser parser = new PathPatternParser();
+        List<PathPattern> publicPaths = config.getPublicPaths().stream().map(parser::parse).toList();
+        List<PathPattern> requiredPaths = config.getRequiredPaths().stream().map(parser::parse).toList();
+
+        // Custom Pre Filter. Verify the JWT at the edge, so invalid tokens never reach the backend
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
             ServerHttpResponse response = exchange.getResponse();
 
             log.info("Custom PRE filter: request id -> {}", request.getId());
+            PathContainer path = request.getPath().pathWithinApplication();
+            boolean publicPath = publicPaths.stream().anyMatch(pattern -> pattern.matches(path))
+                    && requiredPaths.stream().noneMatch(pattern -> pattern.matches(path));
+            String token = publicPath ? null : resolveToken(request);
+
+            Mono<ServerWebExchange> authenticated;
+            if (token == null) {
+                if (config.isRequired() && !publicPath) {
+                    return reject(response, ErrorCode.TOKEN_NON_EXISTS);
+                }
+                authenticated = Mono.just(exchange);
+            } else {
+                authenticated = gatewayJwtVerifier.verify(token).flatMap(result -> switch (result.status()) {
+                    case VALID -> Mono.just(authenticate(exchange, request, result));
+                    case EXPIRED -> reject(response, ErrorCode.TOKEN_EXPIRED).then(Mono.<ServerWebExchange>empty());
+                    case INVALID -> reject(response, ErrorCode.INVALID_TOKEN).then(Mono.<ServerWebExchange>empty());
+                });
+            }
+
             // Custom Post Filter. Suppose we can call error response handler based on error code.
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-               log.info("Custom POST filter: response code -> {}", response.getStatusCode());
-            }));
+            return authenticated.flatMap(authenticatedExchange -> chain.filter(authenticatedExchange)
+                    .then(Mono.fromRunnable(() -> {
+                        log.info("Custom POST filter: response code -> {}", response.getStatusCode());
+                    })));
         };
     }
-}
\ No newline at end of file
+
+    private ServerWebExchange authenticate(ServerWebExchange exchange, ServerHttpRequest request,
+            VerifiedToken result) {
+        ServerHttpRequest authenticatedRequest = request.mutate()
+                .headers(headers -> {
+                    headers.set(USER_ID_HEADER, result.subject());
+                    if (!result.roles().isEmpty()) {
+                        headers.set(ROLES_HEADER, String.join(",", result.roles()));
+                    }
+                })
+                .build();
+        exchange.getAttributes().put(AUTH_SUBJECT_ATTR, result.subject());
+        return exchange.mutate().request(authenticatedRequest).build();
+    }
+
+    private static String resolveToken(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    // 401 at the edge, same body as the api module's error responses
+    private Mono<Void> reject(ServerHttpResponse response, ErrorCode errorCode) {
+        return errorResponseWriter.write(response, errorCode);
+    }
+}
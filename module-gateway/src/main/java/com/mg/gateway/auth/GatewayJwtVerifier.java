@@ -0,0 +1,154 @@
+package com.mg.gateway.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens at the gateway with the same rules as the api module's
+ * JwtTokenProvider: HMAC signature with {@code jwt.secret.key}, expiration, and a
+ * {@code tokenType} claim of ACCESS.
+ * Verification is a CPU-only HMAC check with no I/O, so it runs on the calling event
+ * loop. Valid tokens are cached until their own expiration, keyed by the SHA-256 hash
+ * of the whole token.
+ */
+@Slf4j
+@Component
+public class GatewayJwtVerifier {
+
+    private static final String ACCESS_TOKEN_TYPE = "ACCESS";
+
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> cache;
+    private final long maxTtlNanos;
+
+    public GatewayJwtVerifier(@Value("${jwt.secret.key}") String jwtSecret,
+            @Value("${jwt.verified-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.verified-cache.max-ttl-seconds:1800}") long maxTtlSeconds) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Verifies an access token.
+     *
+     * @param token JWT token without the "Bearer " prefix
+     * @return the verification result
+     */
+    public Mono<VerifiedToken> verify(String token) {
+        return Mono.fromSupplier(() -> verifyNow(token));
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    private VerifiedToken verifyNow(String token) {
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            // entries are evicted lazily, so check the expiration on every hit
+            if (cached.expirationTime() > System.currentTimeMillis()) {
+                return cached;
+            }
+            cache.invalidate(key);
+            return VerifiedToken.expired();
+        }
+
+        VerifiedToken result = parse(token);
+        if (result.status() == VerifiedToken.Status.VALID) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (!ACCESS_TOKEN_TYPE.equals(claims.get("tokenType", String.class)) || claims.getExpiration() == null) {
+                return VerifiedToken.invalid();
+            }
+            return VerifiedToken.valid(claims.getSubject(), roles(claims.get("roles")),
+                    claims.getExpiration().getTime());
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token expired: {}", e.getMessage());
+            return VerifiedToken.expired();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation error: {}", e.getMessage());
+            return VerifiedToken.invalid();
+        }
+    }
+
+    // roles may be issued as a list or as a comma separated string
+    private static List<String> roles(Object claim) {
+        if (claim instanceof Collection<?> collection) {
+            List<String> roles = new ArrayList<>(collection.size());
+            collection.forEach(role -> roles.add(String.valueOf(role)));
+            return List.copyOf(roles);
+        }
+        if (claim instanceof String value && !value.isBlank()) {
+            return Arrays.stream(value.split(",")).map(String::trim).filter(role -> !role.isEmpty()).toList();
+        }
+        return List.of();
+    }
+
+    private long ttlNanos(VerifiedToken value) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(value.expirationTime() - System.currentTimeMillis());
+        return Math.max(0, Math.min(remaining, maxTtlNanos));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.mg.gateway.auth;
+
+import com.mg.gateway.CustomFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Removes the trusted identity headers sent by the client, on every route.
+ * Only CustomFilter may set them, after verifying the token. Routes without it
+ * (including the ones created by the discovery locator) must not forward a
+ * client-supplied identity to the backend.
+ */
+@Component
+public class TrustedHeaderFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(CustomFilter.USER_ID_HEADER) && !headers.containsKey(CustomFilter.ROLES_HEADER)) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(mutable -> {
+                    mutable.remove(CustomFilter.USER_ID_HEADER);
+                    mutable.remove(CustomFilter.ROLES_HEADER);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    // before every route filter, so CustomFilter only ever sees headers it set itself
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,34 @@
+package com.mg.gateway.auth;
+
+import java.util.List;
+
+/**
+ * Result of verifying a JWT at the gateway.
+ *
+ * @param status         verification status
+ * @param subject        user uid (PK), only set for valid tokens
+ * @param roles          roles claim, empty if the token carries none
+ * @param expirationTime expiration in epoch milliseconds, 0 for invalid tokens
+ */
+public record VerifiedToken(Status status, String subject, List<String> roles, long expirationTime) {
+
+    public enum Status {
+        VALID, EXPIRED, INVALID
+    }
+
+    private static final VerifiedToken EXPIRED = new VerifiedToken(Status.EXPIRED, null, List.of(), 0);
+    private static final VerifiedToken INVALID = new VerifiedToken(Status.INVALID, null, List.of(), 0);
+
+    public static VerifiedToken valid(String subject, List<String> roles, long expirationTime) {
+        return new VerifiedToken(Status.VALID, subject, roles, expirationTime);
+    }
+
+    public static VerifiedToken expired() {
+        return EXPIRED;
+    }
+
+    public static VerifiedToken invalid() {
+        return INVALID;
+    }
+
+}
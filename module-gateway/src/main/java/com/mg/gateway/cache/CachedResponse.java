@@ -0,0 +1,52 @@
+package com.mg.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A response body and headers kept by {@link ResponseCacheStore}.
+ *
+ * @param status     HTTP status code
+ * @param headers    response headers, without per-request and hop-by-hop headers
+ * @param body       response body
+ * @param etag       entity tag sent to clients (the backend's, or one derived from the body)
+ * @param storedAt   time the response was received, in epoch milliseconds
+ * @param freshUntil time until which the response is served without revalidation
+ * @param staleUntil time until which the response may still be served while it is revalidated
+ */
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, String etag, long storedAt,
+        long freshUntil, long staleUntil) {
+
+    // rough per-entry overhead (key, record, header map) counted against the byte budget
+    private static final int ENTRY_OVERHEAD = 256;
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isServableStale(long now) {
+        return now < staleUntil;
+    }
+
+    /**
+     * The same response with a new freshness lifetime (after a 304 from the backend).
+     */
+    public CachedResponse refresh(long now, long ttlMillis, long staleMillis) {
+        return new CachedResponse(status, headers, body, etag, now, now + ttlMillis, now + ttlMillis + staleMillis);
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+
+    int weight() {
+        long size = ENTRY_OVERHEAD + body.length;
+        for (var header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+}
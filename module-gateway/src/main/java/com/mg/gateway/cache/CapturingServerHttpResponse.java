@@ -0,0 +1,63 @@
+package com.mg.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response that is not connected to any client: status, headers and body are only
+ * recorded. Used to revalidate cache entries in the background.
+ */
+class CapturingServerHttpResponse extends AbstractServerHttpResponse {
+
+    private final int maxBytes;
+    private volatile byte[] body = new byte[0];
+
+    CapturingServerHttpResponse(DataBufferFactory dataBufferFactory, int maxBytes) {
+        super(dataBufferFactory);
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("Capturing response has no native response");
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> content) {
+        return DataBufferUtils.join(content, maxBytes)
+                .doOnNext(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    body = bytes;
+                })
+                .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> content) {
+        return writeWithInternal(Flux.from(content).concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+
+}
@@ -0,0 +1,466 @@
+package com.mg.gateway.cache;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Caches GET responses in memory.
+ * <pre>
+ * filters:
+ *   - name: ResponseCacheFilter
+ *     args:
+ *       ttlSeconds: 60                  # when the backend sends no max-age
+ *       staleWhileRevalidateSeconds: 30
+ *       varyHeaders: [Accept, Accept-Encoding]
+ * </pre>
+ * - Entries are keyed on route, path, query and the configured request headers.
+ * - The backend's Cache-Control is honored (no-store, private, no-cache, max-age, s-maxage,
+ *   stale-while-revalidate); responses setting cookies are never cached.
+ * - Responses whose Vary is * or names a request header that is not part of the key are
+ *   not cached, since their variants would share one entry.
+ * - Cached responses carry an ETag, so If-None-Match is answered with 304.
+ * - Concurrent misses for the same key wait for the first request instead of each going
+ *   to the backend. As soon as its response headers show it will not be cached, the
+ *   waiting requests are released, and later requests for the key skip the wait for a
+ *   while (custom.gateway.cache.uncacheable-ttl-ms).
+ * - A stale entry is served immediately while a single background request revalidates it.
+ * - Requests with an Authorization or Cookie header bypass the cache unless cacheAuthorized
+ *   or cacheCookies is set, in which case the header becomes part of the key.
+ * Responses served by the cache carry X-Cache (HIT, STALE) and Age.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // per-request or per-connection headers that must not be replayed from the cache
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.AGE.toLowerCase(Locale.ROOT),
+            "keep-alive",
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+    private static final String RATE_LIMIT_HEADER_PREFIX = "x-ratelimit-";
+
+    private final ResponseCacheStore responseCacheStore;
+    private final ResponseCacheMetrics responseCacheMetrics;
+
+    @Data
+    public static class Config {
+        private long ttlSeconds = 60;
+        private long staleWhileRevalidateSeconds = 30;
+        private int maxEntryBytes = 1024 * 1024;
+        private List<String> varyHeaders = new ArrayList<>(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        private boolean cacheAuthorized;
+        private boolean cacheCookies;
+    }
+
+    public ResponseCacheFilter(ResponseCacheStore responseCacheStore, ResponseCacheMetrics responseCacheMetrics) {
+        super(Config.class);
+        this.responseCacheStore = responseCacheStore;
+        this.responseCacheMetrics = responseCacheMetrics;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<String> keyHeaders = new ArrayList<>(config.getVaryHeaders());
+        if (config.isCacheAuthorized()) {
+            keyHeaders.add(HttpHeaders.AUTHORIZATION);
+        }
+        if (config.isCacheCookies()) {
+            keyHeaders.add(HttpHeaders.COOKIE);
+        }
+        Set<String> keyHeaderNames = keyHeaders.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange);
+            if (!isCacheable(request, config)) {
+                responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.BYPASS);
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(routeId, request, keyHeaders);
+            long now = System.currentTimeMillis();
+            CachedResponse cached = responseCacheStore.get(key);
+            if (cached != null && cached.isFresh(now)) {
+                responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.HIT);
+                return write(exchange, cached, "HIT");
+            }
+            if (cached != null && cached.isServableStale(now)) {
+                responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.STALE);
+                revalidate(key, cached, exchange, chain, config, keyHeaderNames);
+                return write(exchange, cached, "STALE");
+            }
+
+            if (responseCacheStore.isUncacheable(key)) {
+                responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.BYPASS);
+                return chain.filter(exchange);
+            }
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Sinks.One<CachedResponse> leader = responseCacheStore.join(key, sink);
+            if (leader != null) {
+                // another request is already fetching this key: use its response if it was cacheable
+                responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.COLLAPSED);
+                return leader.asMono()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(response -> response.isPresent()
+                                ? write(exchange, response.get(), "HIT")
+                                : chain.filter(exchange));
+            }
+
+            responseCacheMetrics.record(routeId, ResponseCacheMetrics.Result.MISS);
+            CachingResponseDecorator response = new CachingResponseDecorator(exchange.getResponse(),
+                    config.getMaxEntryBytes(),
+                    () -> storableLifetime(exchange.getResponse(), config, keyHeaderNames) != null,
+                    body -> {
+                        CachedResponse fetched = toCachedResponse(exchange.getResponse(), body, config,
+                                keyHeaderNames);
+                        if (fetched != null) {
+                            responseCacheStore.put(key, fetched);
+                            sink.tryEmitValue(fetched);
+                        }
+                    },
+                    () -> {
+                        // release the waiting requests now rather than after the whole body
+                        responseCacheStore.markUncacheable(key);
+                        responseCacheStore.leave(key, sink);
+                    });
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> responseCacheStore.leave(key, sink));
+        };
+    }
+
+    /**
+     * Re-runs the rest of the filter chain for the request with a detached response, and
+     * replaces the cache entry with the result. The client has already been answered with
+     * the stale entry.
+     */
+    private void revalidate(String key, CachedResponse cached, ServerWebExchange exchange, GatewayFilterChain chain,
+            Config config, Set<String> keyHeaderNames) {
+        if (!responseCacheStore.startRevalidation(key)) {
+            return;
+        }
+
+        String backendEtag = cached.headers().getETag();
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    if (backendEtag != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, backendEtag);
+                    }
+                })
+                .build();
+        CapturingServerHttpResponse response = new CapturingServerHttpResponse(
+                exchange.getResponse().bufferFactory(), config.getMaxEntryBytes());
+        ServerWebExchange detached = detach(exchange.mutate().request(request).response(response).build(), exchange);
+
+        chain.filter(detached)
+                .then(Mono.fromRunnable(() -> {
+                    int status = response.getStatusCode() != null ? response.getStatusCode().value() : 0;
+                    if (status == HttpStatus.NOT_MODIFIED.value()) {
+                        long[] lifetime = lifetime(response.getHeaders(), config);
+                        if (lifetime != null) {
+                            responseCacheStore.put(key,
+                                    cached.refresh(System.currentTimeMillis(), lifetime[0], lifetime[1]));
+                        }
+                        return;
+                    }
+                    if (status >= 500 || status == 0) {
+                        // keep serving the stale entry until it runs out
+                        return;
+                    }
+                    CachedResponse fetched = toCachedResponse(response, response.getBody(), config, keyHeaderNames);
+                    if (fetched != null) {
+                        responseCacheStore.put(key, fetched);
+                    } else {
+                        responseCacheStore.invalidate(key);
+                    }
+                }))
+                .doFinally(signal -> responseCacheStore.endRevalidation(key))
+                .subscribe(null, ex -> log.warn("Cache revalidation failed: {}", ex.toString()));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(System.currentTimeMillis())));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(cached.etag()) || ifNoneMatch.contains("*")) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isCacheable(ServerHttpRequest request, Config config) {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        if (!config.isCacheAuthorized() && headers.containsKey(HttpHeaders.AUTHORIZATION)) {
+            return false;
+        }
+        if (!config.isCacheCookies() && headers.containsKey(HttpHeaders.COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("no-cache"));
+    }
+
+    private static String cacheKey(String routeId, ServerHttpRequest request, List<String> keyHeaders) {
+        StringBuilder key = new StringBuilder(128)
+                .append(routeId).append(' ')
+                .append(request.getPath().value());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String name : keyHeaders) {
+            key.append('\n').append(name.toLowerCase(Locale.ROOT)).append(':');
+            List<String> values = headers.get(name);
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Builds the cache entry for a backend response.
+     *
+     * @return the entry, or null if the response must not be cached
+     */
+    private static CachedResponse toCachedResponse(ServerHttpResponse response, byte[] body, Config config,
+            Set<String> keyHeaderNames) {
+        long[] lifetime = storableLifetime(response, config, keyHeaderNames);
+        if (lifetime == null) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lowerName) && !lowerName.startsWith(RATE_LIMIT_HEADER_PREFIX)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        String etag = headers.getETag() != null ? headers.getETag() : etag(body);
+        long now = System.currentTimeMillis();
+        return new CachedResponse(HttpStatus.OK.value(), HttpHeaders.readOnlyHttpHeaders(headers), body, etag, now,
+                now + lifetime[0], now + lifetime[0] + lifetime[1]);
+    }
+
+    /**
+     * Freshness lifetime of a backend response that may be stored: a 200 that sets no
+     * cookie and only varies on request headers that are part of the key.
+     *
+     * @return {ttl, stale-while-revalidate} in milliseconds, or null if the response must not be cached
+     */
+    static long[] storableLifetime(ServerHttpResponse response, Config config, Set<String> keyHeaderNames) {
+        if (response.getStatusCode() == null || response.getStatusCode().value() != HttpStatus.OK.value()) {
+            return null;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            String name = vary.trim().toLowerCase(Locale.ROOT);
+            if (name.equals("*") || !keyHeaderNames.contains(name)) {
+                return null;
+            }
+        }
+        return lifetime(headers, config);
+    }
+
+    /**
+     * Freshness lifetime from the response's Cache-Control, falling back to the route config.
+     *
+     * @return {ttl, stale-while-revalidate} in milliseconds, or null if the response must not be cached
+     */
+    private static long[] lifetime(HttpHeaders headers, Config config) {
+        long ttlSeconds = config.getTtlSeconds();
+        long staleSeconds = config.getStaleWhileRevalidateSeconds();
+        long sharedMaxAge = -1;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+                String trimmed = directive.trim();
+                if (trimmed.equals("no-store") || trimmed.equals("private") || trimmed.equals("no-cache")) {
+                    return null;
+                } else if (trimmed.startsWith("max-age=")) {
+                    ttlSeconds = seconds(trimmed, ttlSeconds);
+                } else if (trimmed.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(trimmed, -1);
+                } else if (trimmed.startsWith("stale-while-revalidate=")) {
+                    staleSeconds = seconds(trimmed, staleSeconds);
+                }
+            }
+        }
+        if (sharedMaxAge >= 0) {
+            ttlSeconds = sharedMaxAge;
+        }
+        if (ttlSeconds <= 0 && staleSeconds <= 0) {
+            return null;
+        }
+        return new long[] {TimeUnit.SECONDS.toMillis(ttlSeconds), TimeUnit.SECONDS.toMillis(staleSeconds)};
+    }
+
+    private static long seconds(String directive, long defaultValue) {
+        try {
+            return Long.parseLong(directive.substring(directive.indexOf('=') + 1).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // the background request gets its own attributes, so it is routed again
+    private static ServerWebExchange detach(ServerWebExchange mutated, ServerWebExchange original) {
+        Map<String, Object> attributes = new ConcurrentHashMap<>(original.getAttributes());
+        attributes.remove(ServerWebExchangeUtils.GATEWAY_ALREADY_ROUTED_ATTR);
+        return new ServerWebExchangeDecorator(mutated) {
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        };
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "default";
+    }
+
+    /**
+     * Passes the body through to the client while keeping a copy (up to maxBytes).
+     * If the response turns out not to be cacheable (from its headers, its size or because
+     * it is streamed) onUncacheable is called once and the copy is abandoned.
+     */
+    private static final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final int maxBytes;
+        private final BooleanSupplier cacheable;
+        private final Consumer<byte[]> onComplete;
+        private final Runnable onUncacheable;
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private boolean overflow;
+
+        private CachingResponseDecorator(ServerHttpResponse delegate, int maxBytes, BooleanSupplier cacheable,
+                Consumer<byte[]> onComplete, Runnable onUncacheable) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+            this.cacheable = cacheable;
+            this.onComplete = onComplete;
+            this.onUncacheable = onUncacheable;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            // status and headers are final once the body is written
+            if (!cacheable.getAsBoolean()) {
+                giveUp();
+            }
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(this::capture)
+                    .doOnComplete(() -> {
+                        if (!overflow) {
+                            onComplete.accept(copy.toByteArray());
+                        }
+                    }));
+        }
+
+        // streaming responses are passed through without caching
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            giveUp();
+            return super.writeAndFlushWith(body);
+        }
+
+        private void capture(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (overflow) {
+                return;
+            }
+            if (copy.size() + length > maxBytes) {
+                giveUp();
+                return;
+            }
+            byte[] bytes = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            copy.write(bytes, 0, length);
+        }
+
+        private void giveUp() {
+            if (!overflow) {
+                overflow = true;
+                copy.reset();
+                onUncacheable.run();
+            }
+        }
+    }
+
+}
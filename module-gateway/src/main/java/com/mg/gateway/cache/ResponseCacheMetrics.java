@@ -0,0 +1,75 @@
+package com.mg.gateway.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route response cache counters, exported as {@code gateway.cache.requests{route,result}}
+ * and {@code gateway.cache.hit.ratio{route}}.
+ */
+@Component
+public class ResponseCacheMetrics {
+
+    public enum Result {
+        HIT, STALE, COLLAPSED, MISS, BYPASS
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public ResponseCacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String routeId, Result result) {
+        routes.computeIfAbsent(routeId, this::register).counters.get(result).increment();
+    }
+
+    /**
+     * Share of cacheable requests answered without a backend request of their own.
+     *
+     * @param routeId route id
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio(String routeId) {
+        RouteStats stats = routes.get(routeId);
+        return stats == null ? 0 : stats.hitRatio();
+    }
+
+    private RouteStats register(String routeId) {
+        RouteStats stats = new RouteStats();
+        stats.counters.forEach((result, adder) -> FunctionCounter.builder("gateway.cache.requests", adder, LongAdder::sum)
+                .tag("route", routeId)
+                .tag("result", result.name().toLowerCase())
+                .register(meterRegistry));
+        Gauge.builder("gateway.cache.hit.ratio", stats, RouteStats::hitRatio)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return stats;
+    }
+
+    private static final class RouteStats {
+        private final Map<Result, LongAdder> counters = new EnumMap<>(Result.class);
+
+        private RouteStats() {
+            for (Result result : Result.values()) {
+                counters.put(result, new LongAdder());
+            }
+        }
+
+        private double hitRatio() {
+            long hits = counters.get(Result.HIT).sum() + counters.get(Result.STALE).sum()
+                    + counters.get(Result.COLLAPSED).sum();
+            long total = hits + counters.get(Result.MISS).sum();
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+}
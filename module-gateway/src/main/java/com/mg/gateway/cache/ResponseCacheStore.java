@@ -0,0 +1,131 @@
+package com.mg.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory response cache shared by every route using {@link ResponseCacheFilter}.
+ * The cache is bounded by the total size of the cached bodies and headers
+ * ({@code custom.gateway.cache.max-bytes}), and an entry is dropped once it is too old
+ * to be served even as stale.
+ * The store also tracks the misses and revalidations in progress, so that concurrent
+ * requests for the same key cause a single backend request, and remembers for a while
+ * the keys whose response could not be cached, so that requests for them are not
+ * held back waiting for one another.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final int MAX_UNCACHEABLE_KEYS = 10_000;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Cache<String, Boolean> uncacheable;
+    // key -> response of the request currently fetching it
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheStore(@Value("${custom.gateway.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${custom.gateway.cache.uncacheable-ttl-ms:60000}") long uncacheableTtlMs) {
+        this.uncacheable = Caffeine.newBuilder()
+                .maximumSize(MAX_UNCACHEABLE_KEYS)
+                .expireAfterWrite(uncacheableTtlMs, TimeUnit.MILLISECONDS)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+        uncacheable.invalidate(key);
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Registers the caller as the request fetching the key.
+     *
+     * @param key  cache key
+     * @param sink sink the caller completes with the fetched response
+     * @return null if the caller is now fetching the key, otherwise the sink of the
+     *         request already fetching it
+     */
+    public Sinks.One<CachedResponse> join(String key, Sinks.One<CachedResponse> sink) {
+        return inFlight.putIfAbsent(key, sink);
+    }
+
+    /**
+     * Ends a fetch started with {@link #join}. Requests waiting on the sink are released
+     * with an empty result if no response was emitted.
+     */
+    public void leave(String key, Sinks.One<CachedResponse> sink) {
+        inFlight.remove(key, sink);
+        sink.tryEmitEmpty();
+    }
+
+    /**
+     * Records that the last response for the key could not be cached. Until the mark
+     * expires, requests for the key go to the backend without joining a fetch.
+     */
+    public void markUncacheable(String key) {
+        uncacheable.put(key, Boolean.TRUE);
+    }
+
+    public boolean isUncacheable(String key) {
+        return uncacheable.getIfPresent(key) != null;
+    }
+
+    /**
+     * @return true if the caller should revalidate the key (no revalidation in progress)
+     */
+    public boolean startRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    public long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    private static long ttlNanos(CachedResponse value) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.staleUntil() - System.currentTimeMillis()));
+    }
+
+}
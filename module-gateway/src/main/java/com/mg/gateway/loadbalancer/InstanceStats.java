@@ -0,0 +1,110 @@
+package com.mg.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load observed for one service instance.
+ * Latency is tracked as a peak-sensitive EWMA (PeakEWMA): a sample above the average
+ * replaces it at once, lower samples are blended in with a weight that decays with the
+ * time since the previous sample. The average also decays towards zero when it is read,
+ * so an instance that stopped receiving traffic after a slow response is tried again.
+ * The cost used to compare instances is that latency multiplied by the number of requests
+ * in flight, so a slow or busy instance loses both ways.
+ */
+public class InstanceStats {
+
+    // cost of an instance that has requests in flight but no latency sample yet, so that an
+    // unmeasured instance does not look free and take every request until its first answer
+    private static final double UNMEASURED_PENALTY = (double) (Long.MAX_VALUE >> 16);
+
+    private final String instanceId;
+    private final long decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    // guarded by this
+    private double latencyNanos;
+    private long lastSampleAt;
+    private int ejectionCount;
+
+    private volatile long ejectedUntil;
+
+    public InstanceStats(String instanceId, long decayNanos) {
+        this.instanceId = instanceId;
+        this.decayNanos = decayNanos;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void start() {
+        inFlight.incrementAndGet();
+    }
+
+    public void end() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized void observe(long sampleNanos, long now) {
+        if (lastSampleAt == 0 || sampleNanos > latencyNanos) {
+            latencyNanos = sampleNanos;
+        } else {
+            double weight = Math.exp(-(double) (now - lastSampleAt) / decayNanos);
+            latencyNanos = latencyNanos * weight + sampleNanos * (1 - weight);
+        }
+        lastSampleAt = now;
+    }
+
+    /**
+     * @return the latency average, decayed by the time since the last sample
+     */
+    public synchronized double getLatencyNanos(long now) {
+        if (lastSampleAt == 0) {
+            return 0;
+        }
+        return latencyNanos * Math.exp(-(double) Math.max(0, now - lastSampleAt) / decayNanos);
+    }
+
+    public double cost(long now) {
+        int pending = inFlight.get();
+        double latency = getLatencyNanos(now);
+        if (latency == 0 && pending > 0) {
+            return UNMEASURED_PENALTY + pending;
+        }
+        // +1 so that idle or unmeasured instances are still ordered by the other factor
+        return (latency + 1) * (pending + 1);
+    }
+
+    /**
+     * @return the number of failures in a row, including this one
+     */
+    public int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    public synchronized void recordSuccess(long now) {
+        consecutiveFailures.set(0);
+        if (ejectionCount > 0 && now >= ejectedUntil) {
+            ejectionCount = 0;
+        }
+    }
+
+    /**
+     * Ejects the instance; each consecutive ejection lasts one base duration longer.
+     */
+    public synchronized void eject(long now, long baseEjectionNanos, long maxEjectionNanos) {
+        ejectionCount++;
+        ejectedUntil = now + Math.min(baseEjectionNanos * ejectionCount, maxEjectionNanos);
+        consecutiveFailures.set(0);
+    }
+
+    public boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+}
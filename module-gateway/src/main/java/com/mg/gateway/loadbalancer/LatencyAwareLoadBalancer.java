@@ -0,0 +1,86 @@
+package com.mg.gateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices load balancer.
+ * Two instances are picked at random and the request goes to the one with the lower
+ * cost (EWMA latency x requests in flight, see {@link InstanceStats}). Instances that
+ * fail {@code failure-threshold} requests in a row (connection errors or 5xx) are ejected
+ * for a while, as long as no more than {@code max-ejection-percent} of the service is
+ * ejected at once.
+ * The start and the outcome of each request are reported by {@link LoadBalancerStatsFilter}.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final LoadBalancerStats loadBalancerStats;
+
+    public LatencyAwareLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+            LoadBalancerStats loadBalancerStats) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+        this.loadBalancerStats = loadBalancerStats;
+    }
+
+    // ReactorLoadBalancer declares this with a raw type, and a wildcard parameter would not
+    // override it (same erasure), so the warning is suppressed
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::select);
+    }
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        loadBalancerStats.updateInstanceCount(serviceId, instances.size());
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+
+        long now = System.nanoTime();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!loadBalancerStats.get(serviceId, instance).isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // every instance is ejected: better to try one than to fail outright
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        double costA = loadBalancerStats.get(serviceId, a).cost(now);
+        double costB = loadBalancerStats.get(serviceId, b).cost(now);
+        return new DefaultResponse(costA <= costB ? a : b);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.mg.gateway.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uses {@link LatencyAwareLoadBalancer} instead of round robin for every lb:// service.
+ * Set custom.gateway.load-balancer.latency-aware=false to go back to the default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "custom.gateway.load-balancer.latency-aware", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,122 @@
+package com.mg.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance load statistics and settings for {@link LatencyAwareLoadBalancer}.
+ * Lives in the gateway's main context, so the statistics are shared by the per-service
+ * load balancer contexts and survive their recreation.
+ * Exported as gateway.loadbalancer.in.flight{service,instance},
+ * gateway.loadbalancer.latency{service,instance} (EWMA, ms) and
+ * gateway.loadbalancer.ejections{service}.
+ */
+@Slf4j
+@Component
+public class LoadBalancerStats {
+
+    private final long decayNanos;
+    @Getter
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+
+    private final MeterRegistry meterRegistry;
+    // service id -> instance id -> stats
+    private final Map<String, Map<String, InstanceStats>> services = new ConcurrentHashMap<>();
+    // service id -> size of the instance list last chosen from
+    private final Map<String, Integer> instanceCounts = new ConcurrentHashMap<>();
+
+    public LoadBalancerStats(MeterRegistry meterRegistry,
+            @Value("${custom.gateway.load-balancer.decay-ms:10000}") long decayMs,
+            @Value("${custom.gateway.load-balancer.failure-threshold:5}") int failureThreshold,
+            @Value("${custom.gateway.load-balancer.base-ejection-ms:30000}") long baseEjectionMs,
+            @Value("${custom.gateway.load-balancer.max-ejection-ms:300000}") long maxEjectionMs,
+            @Value("${custom.gateway.load-balancer.max-ejection-percent:50}") int maxEjectionPercent) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, decayMs));
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(baseEjectionMs);
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(maxEjectionMs);
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public InstanceStats get(String serviceId, ServiceInstance instance) {
+        String instanceId = instanceId(instance);
+        return services.computeIfAbsent(serviceId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(instanceId, key -> register(serviceId, new InstanceStats(key, decayNanos)));
+    }
+
+    public void updateInstanceCount(String serviceId, int instanceCount) {
+        instanceCounts.put(serviceId, instanceCount);
+    }
+
+    /**
+     * Records the outcome of a request sent to the instance, and ejects the instance once it
+     * has failed {@code failure-threshold} requests in a row.
+     *
+     * @param latencyNanos time until the backend's response headers (or the failure)
+     * @param failed       connection error, timeout or 5xx response
+     */
+    public void record(String serviceId, InstanceStats stats, long latencyNanos, boolean failed, long now) {
+        stats.observe(latencyNanos, now);
+        if (!failed) {
+            stats.recordSuccess(now);
+            return;
+        }
+        if (stats.recordFailure() >= failureThreshold && tryEject(serviceId, stats, now)) {
+            log.warn("Ejected {} instance {} after consecutive failures", serviceId, stats.getInstanceId());
+        }
+    }
+
+    /**
+     * Ejects the instance unless that would put the service over its ejection limit.
+     *
+     * @return true if the instance was ejected
+     */
+    public boolean tryEject(String serviceId, InstanceStats stats, long now) {
+        int instanceCount = instanceCounts.getOrDefault(serviceId, 0);
+        long ejected = services.getOrDefault(serviceId, Map.of()).values().stream()
+                .filter(candidate -> candidate.isEjected(now))
+                .count();
+        if ((ejected + 1) * 100 > (long) instanceCount * maxEjectionPercent) {
+            return false;
+        }
+        stats.eject(now, baseEjectionNanos, maxEjectionNanos);
+        Counter.builder("gateway.loadbalancer.ejections")
+                .tag("service", serviceId)
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+
+    private InstanceStats register(String serviceId, InstanceStats stats) {
+        Gauge.builder("gateway.loadbalancer.in.flight", stats, InstanceStats::getInFlight)
+                .tag("service", serviceId)
+                .tag("instance", stats.getInstanceId())
+                .register(meterRegistry);
+        Gauge.builder("gateway.loadbalancer.latency", stats, s -> s.getLatencyNanos(System.nanoTime()) / 1_000_000)
+                .tag("service", serviceId)
+                .tag("instance", stats.getInstanceId())
+                .register(meterRegistry);
+        return stats;
+    }
+
+    private static String instanceId(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.mg.gateway.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Reports every load-balanced request to {@link LoadBalancerStats}.
+ * Runs right after the load balancer has chosen an instance and wraps the routing filter,
+ * whose Mono completes once the backend's status and headers are in (the body is written
+ * afterwards), so latency samples never include body streaming. The request counts as in
+ * flight until then, and is released on success, error and cancel alike.
+ */
+@Component
+@ConditionalOnProperty(name = "custom.gateway.load-balancer.latency-aware", havingValue = "true", matchIfMissing = true)
+public class LoadBalancerStatsFilter implements GlobalFilter, Ordered {
+
+    private final LoadBalancerStats loadBalancerStats;
+
+    public LoadBalancerStatsFilter(LoadBalancerStats loadBalancerStats) {
+        this.loadBalancerStats = loadBalancerStats;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(
+                ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        // same service id the load balancer was looked up with (the host of the lb:// uri)
+        String serviceId = route.getUri().getHost();
+        InstanceStats stats = loadBalancerStats.get(serviceId, lbResponse.getServer());
+        long start = System.nanoTime();
+        stats.start();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    stats.end();
+                    if (signal != SignalType.CANCEL) {
+                        long now = System.nanoTime();
+                        loadBalancerStats.record(serviceId, stats, now - start,
+                                signal == SignalType.ON_ERROR || isServerError(exchange), now);
+                    }
+                });
+    }
+
+    private static boolean isServerError(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.mg.gateway.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets.
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time"
+ * (GCRA), so a consume is one CAS loop with no locks and no allocation.
+ * Buckets are spread over independent shards; a background sweep drops buckets that
+ * have refilled completely, since they are equivalent to a fresh bucket.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.gateway.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalTokenBucketStore implements RateLimitStore {
+
+    // typed holder so the shard array needs no generic array creation
+    private static final class Shard {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    }
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final ScheduledExecutorService sweeper;
+
+    public LocalTokenBucketStore(
+            @Value("${custom.gateway.rate-limit.shards:16}") int shardCount,
+            @Value("${custom.gateway.rate-limit.sweep-interval-ms:60000}") long sweepIntervalMs) {
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1) << 1);
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public Mono<RateLimitResult> tryConsume(String key, long capacity, double refillPerSecond, int tokens) {
+        return Mono.just(consume(key, capacity, refillPerSecond, tokens, System.nanoTime()));
+    }
+
+    RateLimitResult consume(String key, long capacity, double refillPerSecond, int tokens, long now) {
+        long interval = (long) Math.max(1, TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        long burst = interval * capacity;
+        AtomicLong bucket = shard(key).computeIfAbsent(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long newTat = base + interval * tokens;
+            long allowAt = newTat - burst;
+            if (allowAt > now) {
+                long remaining = Math.max(0, (burst - (base - now)) / interval);
+                return new RateLimitResult(false, remaining, toMillis(allowAt - now), toMillis(base - now));
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return new RateLimitResult(true, (burst - (newTat - now)) / interval, 0, toMillis(newTat - now));
+            }
+        }
+    }
+
+    public int getBucketCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.buckets.size();
+        }
+        return count;
+    }
+
+    // A request racing with the sweep may update a bucket that was just removed;
+    // at worst that request's tokens are forgotten, which errs on the side of allowing.
+    private void sweep() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Shard shard : shards) {
+            int before = shard.buckets.size();
+            shard.buckets.values().removeIf(bucket -> bucket.get() <= now);
+            removed += before - shard.buckets.size();
+        }
+        if (removed > 0) {
+            log.debug("Removed idle rate limit buckets: {}", removed);
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> shard(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask].buckets;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+}
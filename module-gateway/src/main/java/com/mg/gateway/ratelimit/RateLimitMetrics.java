@@ -0,0 +1,76 @@
+package com.mg.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limit counters.
+ * Allowed and rejected requests are exported per route to Micrometer
+ * ({@code gateway.ratelimit.requests}). Rejections are also counted per bucket key, but
+ * only in memory: keys are unbounded (client IPs, users), so they are never used as tags
+ * and at most {@code max-tracked-keys} of them are tracked; the rest go to "other".
+ */
+@Component
+public class RateLimitMetrics {
+
+    private static final String OTHER_KEYS = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTrackedKeys;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejectedByKey = new ConcurrentHashMap<>();
+
+    public RateLimitMetrics(MeterRegistry meterRegistry,
+            @Value("${custom.gateway.rate-limit.max-tracked-keys:10000}") int maxTrackedKeys) {
+        this.meterRegistry = meterRegistry;
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public void record(String routeId, String key, boolean allowed) {
+        String outcome = allowed ? "allowed" : "rejected";
+        counters.computeIfAbsent(routeId + ":" + outcome, name -> Counter.builder("gateway.ratelimit.requests")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+                .increment();
+
+        if (!allowed) {
+            LongAdder adder = rejectedByKey.get(key);
+            if (adder == null) {
+                adder = rejectedByKey.size() < maxTrackedKeys
+                        ? rejectedByKey.computeIfAbsent(key, k -> new LongAdder())
+                        : rejectedByKey.computeIfAbsent(OTHER_KEYS, k -> new LongAdder());
+            }
+            adder.increment();
+        }
+    }
+
+    /**
+     * Keys with the most rejections.
+     *
+     * @param limit number of keys to return
+     * @return key -> rejected count, highest first
+     */
+    public Map<String, Long> getTopRejectedKeys(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        rejectedByKey.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    public void resetRejectedKeys() {
+        rejectedByKey.clear();
+    }
+
+}
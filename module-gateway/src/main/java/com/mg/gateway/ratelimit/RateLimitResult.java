@@ -0,0 +1,12 @@
+package com.mg.gateway.ratelimit;
+
+/**
+ * Outcome of a single token-bucket consume attempt.
+ *
+ * @param allowed          whether the tokens were granted
+ * @param remaining        tokens left in the bucket after this attempt
+ * @param retryAfterMillis time until the request would be allowed (0 when allowed)
+ * @param resetMillis      time until the bucket is full again
+ */
+public record RateLimitResult(boolean allowed, long remaining, long retryAfterMillis, long resetMillis) {
+}
@@ -0,0 +1,24 @@
+package com.mg.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token-bucket state store used by {@link RateLimitFilter}.
+ * The default implementation keeps buckets in memory ({@link LocalTokenBucketStore});
+ * gateways running several instances can switch to a shared store with
+ * {@code custom.gateway.rate-limit.store=redis}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes tokens from the bucket identified by the key.
+     *
+     * @param key             bucket key
+     * @param capacity        bucket size (maximum burst)
+     * @param refillPerSecond tokens added per second
+     * @param tokens          tokens requested
+     * @return whether the request is allowed, and the bucket state after the attempt
+     */
+    Mono<RateLimitResult> tryConsume(String key, long capacity, double refillPerSecond, int tokens);
+
+}
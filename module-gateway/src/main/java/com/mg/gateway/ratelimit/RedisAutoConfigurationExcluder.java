@@ -0,0 +1,48 @@
+package com.mg.gateway.ratelimit;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps Redis out of the context unless the shared rate limit store is selected.
+ * The Redis starter is on the classpath only for {@link RedisTokenBucketStore}; without
+ * this a local-store gateway would still create a Redis connection factory and register
+ * a Redis health check that reports DOWN when no server is running.
+ * Exclusions already configured under spring.autoconfigure.exclude are kept.
+ */
+public class RedisAutoConfigurationExcluder implements EnvironmentPostProcessor {
+
+    private static final String STORE_PROPERTY = "custom.gateway.rate-limit.store";
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    private static final List<String> REDIS_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.data.redis.RedisHealthContributorAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.data.redis.RedisReactiveHealthContributorAutoConfiguration");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("redis".equals(environment.getProperty(STORE_PROPERTY, "local"))) {
+            return;
+        }
+        List<String> exclusions = new ArrayList<>(Binder.get(environment)
+                .bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of()));
+        REDIS_AUTO_CONFIGURATIONS.stream()
+                .filter(name -> !exclusions.contains(name))
+                .forEach(exclusions::add);
+        environment.getPropertySources().addFirst(new MapPropertySource("rateLimitRedisExclusions",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", exclusions))));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.mg.gateway.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets shared by every gateway instance, kept in Redis.
+ * The same GCRA algorithm as {@link LocalTokenBucketStore} runs as a Lua script, so a
+ * consume is a single atomic round trip, and the Redis server clock is used so that
+ * instance clock skew does not matter.
+ * If Redis is slow or unavailable the request falls back to a per-instance bucket
+ * instead of failing. After a failure Redis is skipped for a retry interval, so an
+ * outage costs one timeout and one warning instead of one of each per request.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.gateway.rate-limit.store", havingValue = "redis")
+public class RedisTokenBucketStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    // ARGV: emission interval (us), burst tolerance (us), tokens
+    // returns: allowed, remaining, retry after (us), reset (us)
+    private static final RedisScript<List<Long>> SCRIPT = RedisScript.of("""
+            local interval = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local tokens = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then
+                tat = now
+            end
+            local newTat = tat + interval * tokens
+            local allowAt = newTat - burst
+            if allowAt > now then
+                return {0, math.floor((burst - (tat - now)) / interval), allowAt - now, tat - now}
+            end
+            redis.call('SET', KEYS[1], newTat, 'PX', math.ceil((newTat - now) / 1000) + 1)
+            return {1, math.floor((burst - (newTat - now)) / interval), 0, newTat - now}
+            """, longListType());
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final LocalTokenBucketStore fallback;
+    private final Duration timeout;
+    private final long retryIntervalNanos;
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+    // System.nanoTime() before which Redis is not tried again, only read while unavailable
+    private volatile long retryAt;
+
+    public RedisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate,
+            @Value("${custom.gateway.rate-limit.shards:16}") int shardCount,
+            @Value("${custom.gateway.rate-limit.sweep-interval-ms:60000}") long sweepIntervalMs,
+            @Value("${custom.gateway.rate-limit.redis-timeout-ms:50}") long timeoutMs,
+            @Value("${custom.gateway.rate-limit.redis-retry-interval-ms:5000}") long retryIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = new LocalTokenBucketStore(shardCount, sweepIntervalMs);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.retryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(retryIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fallback.shutdown();
+    }
+
+    @Override
+    public Mono<RateLimitResult> tryConsume(String key, long capacity, double refillPerSecond, int tokens) {
+        long interval = (long) Math.max(1, TimeUnit.SECONDS.toMicros(1) / refillPerSecond);
+        List<String> args = List.of(Long.toString(interval), Long.toString(interval * capacity),
+                Integer.toString(tokens));
+
+        if (!available.get() && System.nanoTime() - retryAt < 0) {
+            return fallback.tryConsume(key, capacity, refillPerSecond, tokens);
+        }
+        return redisTemplate.execute(SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .timeout(timeout)
+                .map(RedisTokenBucketStore::toResult)
+                .doOnNext(result -> markAvailable())
+                .onErrorResume(ex -> {
+                    markUnavailable(ex);
+                    return fallback.tryConsume(key, capacity, refillPerSecond, tokens);
+                });
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    private void markAvailable() {
+        if (!available.get() && available.compareAndSet(false, true)) {
+            log.info("Redis rate limit store is available again");
+        }
+    }
+
+    // warns once per outage; failed retries only push the next retry back
+    private void markUnavailable(Throwable ex) {
+        retryAt = System.nanoTime() + retryIntervalNanos;
+        if (available.compareAndSet(true, false)) {
+            log.warn("Redis rate limit store unavailable, using local buckets for the next {} ms: {}",
+                    TimeUnit.NANOSECONDS.toMillis(retryIntervalNanos), ex.toString());
+        } else {
+            log.debug("Redis rate limit store still unavailable: {}", ex.toString());
+        }
+    }
+
+    // the script returns a multi-bulk of integers, which Spring maps to List<Long>
+    @SuppressWarnings("unchecked")
+    private static Class<List<Long>> longListType() {
+        return (Class<List<Long>>) (Class<?>) List.class;
+    }
+
+    private static RateLimitResult toResult(List<Long> result) {
+        return new RateLimitResult(result.get(0) == 1L, result.get(1),
+                toMillis(result.get(2)), toMillis(result.get(3)));
+    }
+
+    private static long toMillis(long micros) {
+        return (micros + 999) / 1000;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.mg.gateway.resilience;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.gateway.support.ErrorResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests a route may have in flight.
+ * <pre>
+ * filters:
+ *   - name: BulkheadFilter
+ *     args:
+ *       maxConcurrent: 200
+ * </pre>
+ * Requests over the limit are answered at once with 503 instead of queueing, so a slow
+ * backend cannot pile up pending requests on the event loops.
+ * Exported as gateway.bulkhead.in.flight{route} and gateway.bulkhead.rejected{route}.
+ */
+@Component
+public class BulkheadFilter extends AbstractGatewayFilterFactory<BulkheadFilter.Config> {
+
+    private final ErrorResponseWriter errorResponseWriter;
+    private final MeterRegistry meterRegistry;
+    // route id -> requests in flight (kept across route refreshes)
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int maxConcurrent = 200;
+    }
+
+    public BulkheadFilter(ErrorResponseWriter errorResponseWriter, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.errorResponseWriter = errorResponseWriter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = String.valueOf(config.getRouteId());
+        AtomicInteger running = inFlight.computeIfAbsent(routeId, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("gateway.bulkhead.in.flight", counter, AtomicInteger::get)
+                    .tag("route", key)
+                    .register(meterRegistry);
+            return counter;
+        });
+        Counter rejected = Counter.builder("gateway.bulkhead.rejected")
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (running.incrementAndGet() > config.getMaxConcurrent()) {
+                running.decrementAndGet();
+                rejected.increment();
+                return errorResponseWriter.write(exchange.getResponse(), ErrorCode.GATEWAY_BUSY);
+            }
+            return chain.filter(exchange).doFinally(signal -> running.decrementAndGet());
+        };
+    }
+
+}
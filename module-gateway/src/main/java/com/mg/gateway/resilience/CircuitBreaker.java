@@ -0,0 +1,216 @@
+package com.mg.gateway.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-based circuit breaker.
+ * CLOSED: the outcomes of the last {@code windowSize} calls are recorded, and the breaker
+ * opens once at least {@code minimumCalls} were recorded and the failure rate or the slow
+ * call rate reaches its threshold.
+ * OPEN: calls are rejected for {@code openDurationMs}, then the breaker becomes HALF_OPEN.
+ * HALF_OPEN: {@code halfOpenCalls} trial calls are let through; the breaker closes if their
+ * failure rate stays under the threshold and opens again otherwise.
+ * Permission checks in the CLOSED state only read a volatile field; recording outcomes
+ * takes a short lock on the window.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    // ring buffer of the recent outcomes (guarded by this)
+    private final byte[] outcomes;
+    private int position;
+    private int recorded;
+    private int failedCalls;
+    private int slowCalls;
+
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder notPermittedCount = new LongAdder();
+    private final Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, float failureRateThreshold,
+            float slowCallRateThreshold, long slowCallMillis, long openDurationMillis, int halfOpenCalls) {
+        this.name = name;
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.outcomes = new byte[this.windowSize];
+        for (State value : State.values()) {
+            transitions.put(value, new LongAdder());
+        }
+    }
+
+    /**
+     * @return true if the call may proceed; the caller must then report it with
+     *         {@link #onResult} or {@link #releasePermission}
+     */
+    public boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                notPermittedCount.increment();
+                return false;
+            }
+            synchronized (this) {
+                if (state == State.OPEN) {
+                    transitionTo(State.HALF_OPEN);
+                }
+            }
+        }
+        if (halfOpenPermits.getAndUpdate(permits -> Math.max(0, permits - 1)) > 0) {
+            return true;
+        }
+        notPermittedCount.increment();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param failed        whether the call failed
+     * @param durationNanos call duration
+     */
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (failed) {
+            failureCount.increment();
+        } else {
+            successCount.increment();
+        }
+        if (slow) {
+            slowCount.increment();
+        }
+        if (state == State.OPEN) {
+            // late result of a call started before the breaker opened
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        record(outcome);
+        int required = state == State.HALF_OPEN ? halfOpenCalls : minimumCalls;
+        if (recorded < required) {
+            return;
+        }
+        boolean tripped = getFailureRate() >= failureRateThreshold || getSlowCallRate() >= slowCallRateThreshold;
+        if (tripped) {
+            transitionTo(State.OPEN);
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * Gives back a permission whose call was cancelled before it completed.
+     */
+    public void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits.incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRemainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, openedAt + openDurationMillis - System.currentTimeMillis()) : 0;
+    }
+
+    public synchronized float getFailureRate() {
+        return recorded == 0 ? 0 : failedCalls * 100f / recorded;
+    }
+
+    public synchronized float getSlowCallRate() {
+        return recorded == 0 ? 0 : slowCalls * 100f / recorded;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    public long getNotPermittedCount() {
+        return notPermittedCount.sum();
+    }
+
+    public long getTransitionCount(State to) {
+        return transitions.get(to).sum();
+    }
+
+    private void record(byte outcome) {
+        if (recorded == windowSize) {
+            byte evicted = outcomes[position];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        position = (position + 1) % windowSize;
+    }
+
+    // called with the lock held
+    private void transitionTo(State next) {
+        State previous = state;
+        position = 0;
+        recorded = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (next == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        } else if (next == State.HALF_OPEN) {
+            halfOpenPermits.set(halfOpenCalls);
+        }
+        state = next;
+        transitions.get(next).increment();
+        log.info("Circuit breaker {}: {} -> {}", name, previous, next);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.mg.gateway.resilience;
+
+import com.mg.core.common.code.ErrorCode;
+import com.mg.gateway.support.ErrorResponseWriter;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route circuit breaker with a call timeout and fallback responses.
+ * <pre>
+ * filters:
+ *   - name: CircuitBreakerFilter
+ *     args:
+ *       timeoutMs: 5000
+ *       failureRateThreshold: 50
+ *       slowCallMs: 2000
+ *       openDurationMs: 10000
+ * </pre>
+ * Connection errors, timeouts and 5xx responses count as failures. While the breaker is
+ * open, requests are answered at once with 503 and Retry-After. Errors raised before the
+ * response is committed are answered with 504 (timeout) or 502.
+ * The timeout and the slow-call duration cover the time to the backend's response headers,
+ * counted from the end of the request body for requests that have one. The outcome is
+ * recorded when the response is committed, so long uploads and downloads are neither cut
+ * off nor counted as slow.
+ */
+@Component
+@Slf4j
+public class CircuitBreakerFilter extends AbstractGatewayFilterFactory<CircuitBreakerFilter.Config> {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        // breaker name, defaults to the route id (routes with the same name share a breaker)
+        private String name;
+        private long timeoutMs;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private long slowCallMs = 2000;
+        private long openDurationMs = 10000;
+        private int halfOpenCalls = 3;
+    }
+
+    public CircuitBreakerFilter(CircuitBreakerRegistry circuitBreakerRegistry,
+            ErrorResponseWriter errorResponseWriter) {
+        super(Config.class);
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String name = config.getName() != null ? config.getName() : config.getRouteId();
+        CircuitBreaker breaker = circuitBreakerRegistry.get(name, () -> new CircuitBreaker(name,
+                config.getWindowSize(), config.getMinimumCalls(), config.getFailureRateThreshold(),
+                config.getSlowCallRateThreshold(), config.getSlowCallMs(), config.getOpenDurationMs(),
+                config.getHalfOpenCalls()));
+
+        return (exchange, chain) -> {
+            ServerHttpResponse response = exchange.getResponse();
+            if (!breaker.tryAcquirePermission()) {
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                        Long.toString((breaker.getRemainingOpenMillis() + 999) / 1000));
+                return errorResponseWriter.write(response, ErrorCode.GATEWAY_CIRCUIT_OPEN);
+            }
+
+            AtomicLong sentAt = new AtomicLong(System.nanoTime());
+            AtomicBoolean recorded = new AtomicBoolean();
+            // the backend's status and headers decide the outcome, the body is only streamed
+            response.beforeCommit(() -> {
+                if (recorded.compareAndSet(false, true)) {
+                    breaker.onResult(isFailure(response), System.nanoTime() - sentAt.get());
+                }
+                return Mono.empty();
+            });
+            ServerWebExchange routed = exchange;
+            Mono<Void> timeoutStart = Mono.empty();
+            if (hasBody(exchange.getRequest())) {
+                Sinks.Empty<Void> requestSent = Sinks.empty();
+                ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                    @Override
+                    public Flux<DataBuffer> getBody() {
+                        return super.getBody().doOnComplete(() -> {
+                            if (requestSent.tryEmitEmpty().isSuccess()) {
+                                sentAt.set(System.nanoTime());
+                            }
+                        });
+                    }
+                };
+                routed = exchange.mutate().request(request).build();
+                timeoutStart = requestSent.asMono();
+            }
+
+            Mono<Void> call = chain.filter(routed);
+            if (config.getTimeoutMs() > 0) {
+                // no timeout once the response is committed
+                Duration timeout = Duration.ofMillis(config.getTimeoutMs());
+                call = call.timeout(timeoutStart
+                        .then(Mono.delay(timeout))
+                        .flatMap(tick -> response.isCommitted() ? Mono.never() : Mono.just(tick)));
+            }
+            return call
+                    .doOnSuccess(done -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            breaker.onResult(isFailure(response), System.nanoTime() - sentAt.get());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            breaker.releasePermission();
+                        }
+                    })
+                    .onErrorResume(ex -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            breaker.onResult(true, System.nanoTime() - sentAt.get());
+                        }
+                        if (response.isCommitted()) {
+                            return Mono.error(ex);
+                        }
+                        log.warn("Route {} failed: {}", name, ex.toString());
+                        return errorResponseWriter.write(response, isTimeout(ex)
+                                ? ErrorCode.GATEWAY_TIMEOUT
+                                : ErrorCode.GATEWAY_UPSTREAM_ERROR);
+                    });
+        };
+    }
+
+    private static boolean hasBody(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    private static boolean isFailure(ServerHttpResponse response) {
+        return response.getStatusCode() != null && response.getStatusCode().value() >= 500;
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        return ex instanceof TimeoutException
+                || ex instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().value() == 504;
+    }
+
+}
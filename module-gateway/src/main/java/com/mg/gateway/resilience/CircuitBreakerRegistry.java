@@ -0,0 +1,73 @@
+package com.mg.gateway.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Circuit breakers by name (the route id by default), kept across route refreshes.
+ * Each breaker is exported to Micrometer:
+ * - gateway.circuitbreaker.state{name,state}: 1 for the current state, 0 otherwise
+ * - gateway.circuitbreaker.calls{name,kind}: successful, failed, slow, not_permitted
+ * - gateway.circuitbreaker.transitions{name,state}
+ * - gateway.circuitbreaker.failure.rate{name}, gateway.circuitbreaker.slow.call.rate{name}
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CircuitBreaker get(String name, Supplier<CircuitBreaker> factory) {
+        return circuitBreakers.computeIfAbsent(name, key -> register(factory.get()));
+    }
+
+    public Collection<CircuitBreaker> getAll() {
+        return circuitBreakers.values();
+    }
+
+    private CircuitBreaker register(CircuitBreaker breaker) {
+        String name = breaker.getName();
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            String stateName = state.name().toLowerCase();
+            Gauge.builder("gateway.circuitbreaker.state", breaker, cb -> cb.getState() == state ? 1 : 0)
+                    .tag("name", name)
+                    .tag("state", stateName)
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.circuitbreaker.transitions", breaker, cb -> cb.getTransitionCount(state))
+                    .tag("name", name)
+                    .tag("state", stateName)
+                    .register(meterRegistry);
+        }
+        counter(breaker, "successful", CircuitBreaker::getSuccessCount);
+        counter(breaker, "failed", CircuitBreaker::getFailureCount);
+        counter(breaker, "slow", CircuitBreaker::getSlowCount);
+        counter(breaker, "not_permitted", CircuitBreaker::getNotPermittedCount);
+        Gauge.builder("gateway.circuitbreaker.failure.rate", breaker, CircuitBreaker::getFailureRate)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuitbreaker.slow.call.rate", breaker, CircuitBreaker::getSlowCallRate)
+                .tag("name", name)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private void counter(CircuitBreaker breaker, String kind, ToLongFunction<CircuitBreaker> count) {
+        FunctionCounter.builder("gateway.circuitbreaker.calls", breaker, cb -> count.applyAsLong(cb))
+                .tag("name", breaker.getName())
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.mg.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded retries with jittered exponential backoff for idempotent requests.
+ * <pre>
+ * filters:
+ *   - name: RetryFilter
+ *     args:
+ *       retries: 2
+ *       statuses: [502, 503, 504]
+ * </pre>
+ * A request is retried after a connection error or a timeout, or when the backend answers
+ * with one of the configured statuses; the body of such a response is discarded so that it
+ * never reaches the client. Nothing is retried once the response is committed.
+ * Only bodiless methods are retried by default, since request bodies are not buffered.
+ */
+@Component
+public class RetryFilter extends AbstractGatewayFilterFactory<RetryFilter.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int retries = 2;
+        private List<String> methods = new ArrayList<>(List.of("GET", "HEAD", "OPTIONS"));
+        private List<Integer> statuses = new ArrayList<>(List.of(502, 503, 504));
+        private long firstBackoffMs = 50;
+        private long maxBackoffMs = 500;
+        private double jitter = 0.5;
+    }
+
+    public RetryFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Set<HttpMethod> methods = config.getMethods().stream().map(HttpMethod::valueOf).collect(Collectors.toSet());
+        Set<Integer> statuses = Set.copyOf(config.getStatuses());
+        Counter retried = Counter.builder("gateway.retry.attempts")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+        Counter exhausted = Counter.builder("gateway.retry.exhausted")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+        RetryBackoffSpec retry = Retry.backoff(config.getRetries(), Duration.ofMillis(config.getFirstBackoffMs()))
+                .maxBackoff(Duration.ofMillis(config.getMaxBackoffMs()))
+                .jitter(config.getJitter())
+                .doBeforeRetry(signal -> retried.increment())
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    exhausted.increment();
+                    return signal.failure();
+                });
+
+        return (exchange, chain) -> {
+            if (config.getRetries() <= 0 || !methods.contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            // headers set before routing (e.g. by earlier filters) survive a retry, the backend's do not
+            HttpHeaders initialHeaders = new HttpHeaders();
+            initialHeaders.addAll(exchange.getResponse().getHeaders());
+            AtomicInteger attempt = new AtomicInteger();
+            return Mono.defer(() -> {
+                int current = attempt.getAndIncrement();
+                if (current > 0) {
+                    // forget the previous attempt's routing state, status and response headers
+                    ServerWebExchangeUtils.reset(exchange);
+                    exchange.getResponse().setStatusCode(null);
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.clear();
+                    headers.addAll(initialHeaders);
+                }
+                boolean lastAttempt = current >= config.getRetries();
+                ServerHttpResponse response = lastAttempt
+                        ? exchange.getResponse()
+                        : new RetryableStatusResponse(exchange.getResponse(), statuses);
+                return chain.filter(exchange.mutate().response(response).build());
+            }).retryWhen(retry.filter(ex -> !exchange.getResponse().isCommitted() && isRetryable(ex)));
+        };
+    }
+
+    // retryable status, connection error, or timeout (the routing filter reports its response timeout as 504)
+    private static boolean isRetryable(Throwable ex) {
+        return ex instanceof RetryableStatusException
+                || ex instanceof TimeoutException
+                || ex instanceof IOException
+                || ex instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * Raised in place of writing a response whose status is retryable.
+     */
+    static final class RetryableStatusException extends RuntimeException {
+        RetryableStatusException(int status) {
+            super("Retryable status " + status, null, false, false);
+        }
+    }
+
+    /**
+     * Drops the body of a retryable response instead of writing it, so the response stays
+     * uncommitted and the request can be sent again.
+     */
+    private static final class RetryableStatusResponse extends ServerHttpResponseDecorator {
+
+        private final Set<Integer> statuses;
+
+        private RetryableStatusResponse(ServerHttpResponse delegate, Set<Integer> statuses) {
+            super(delegate);
+            this.statuses = statuses;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Integer status = getStatusCode() != null ? getStatusCode().value() : null;
+            if (status != null && statuses.contains(status)) {
+                return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.error(new RetryableStatusException(status)));
+            }
+            return super.writeWith(body);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(Flux::from));
+        }
+    }
+
+}
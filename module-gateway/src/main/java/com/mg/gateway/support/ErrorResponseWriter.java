@@ -0,0 +1,42 @@
+package com.mg.gateway.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mg.core.common.code.ErrorCode;
+import com.mg.core.common.response.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes gateway-generated error responses with the same body as the api module's
+ * error responses (ErrorResponse).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(ServerHttpResponse response, ErrorCode errorCode) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(errorCode.getHttpStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ErrorResponse.of(errorCode));
+        } catch (JsonProcessingException e) {
+            log.error("Error response serialization failed", e);
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mg.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest {
+
+    private static final Set<String> KEY_HEADERS = Set.of("accept", "accept-encoding", "origin");
+
+    private final ResponseCacheFilter.Config config = new ResponseCacheFilter.Config();
+
+    private static CapturingServerHttpResponse response(HttpStatus status, String cacheControl, String... vary) {
+        CapturingServerHttpResponse response = new CapturingServerHttpResponse(DefaultDataBufferFactory.sharedInstance,
+                1024);
+        response.setStatusCode(status);
+        if (cacheControl != null) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        for (String value : vary) {
+            response.getHeaders().add(HttpHeaders.VARY, value);
+        }
+        return response;
+    }
+
+    @Test
+    void storesResponseVaryingOnKeyHeaders() {
+        long[] lifetime = ResponseCacheFilter.storableLifetime(
+                response(HttpStatus.OK, "public, max-age=600", "Accept-Encoding, Origin", "accept"), config,
+                KEY_HEADERS);
+
+        assertNotNull(lifetime);
+        assertArrayEquals(new long[] {600_000, 30_000}, lifetime);
+    }
+
+    @Test
+    void refusesResponseVaryingOnOtherHeaders() {
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, "max-age=60", "*"), config,
+                KEY_HEADERS));
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, "max-age=60", "Origin, User-Agent"),
+                config, KEY_HEADERS));
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, "max-age=60", "Cookie"), config,
+                KEY_HEADERS));
+    }
+
+    @Test
+    void refusesUncacheableResponses() {
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.NOT_FOUND, "max-age=60"), config,
+                KEY_HEADERS));
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, "private, max-age=60"), config,
+                KEY_HEADERS));
+        assertNull(ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, "no-cache, no-store"), config,
+                KEY_HEADERS));
+
+        CapturingServerHttpResponse withCookie = response(HttpStatus.OK, "max-age=60");
+        withCookie.getHeaders().add(HttpHeaders.SET_COOKIE, "SESSION=1");
+        assertNull(ResponseCacheFilter.storableLifetime(withCookie, config, KEY_HEADERS));
+    }
+
+    @Test
+    void usesRouteTtlWithoutCacheControl() {
+        config.setTtlSeconds(10);
+        config.setStaleWhileRevalidateSeconds(0);
+
+        assertArrayEquals(new long[] {10_000, 0},
+                ResponseCacheFilter.storableLifetime(response(HttpStatus.OK, null), config, KEY_HEADERS));
+    }
+}
@@ -0,0 +1,54 @@
+package com.mg.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Sinks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheStoreTest {
+
+    private static final String KEY = "route /index.html";
+
+    private static CachedResponse cached() {
+        long now = System.currentTimeMillis();
+        return new CachedResponse(200, HttpHeaders.EMPTY, new byte[] {1}, "\"etag\"", now, now + 60_000,
+                now + 90_000);
+    }
+
+    @Test
+    void remembersUncacheableKeysUntilExpiry() throws InterruptedException {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024, 100);
+        store.markUncacheable(KEY);
+
+        assertTrue(store.isUncacheable(KEY));
+        assertFalse(store.isUncacheable("route /other"));
+        Thread.sleep(150);
+        assertFalse(store.isUncacheable(KEY));
+    }
+
+    @Test
+    void clearsUncacheableMarkWhenResponseIsStored() {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024, 60_000);
+        store.markUncacheable(KEY);
+        store.put(KEY, cached());
+
+        assertFalse(store.isUncacheable(KEY));
+    }
+
+    @Test
+    void releasesWaitingRequestsOnLeave() {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024, 60_000);
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        assertNull(store.join(KEY, leader));
+        assertSame(leader, store.join(KEY, Sinks.one()));
+
+        store.leave(KEY, leader);
+        // the follower sees an empty result and the key is free for the next fetch
+        assertNull(leader.asMono().block());
+        assertNull(store.join(KEY, Sinks.one()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.mg.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceStatsTest {
+
+    private static final long DECAY = TimeUnit.SECONDS.toNanos(10);
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long T0 = 1_000_000_000L;
+
+    @Test
+    void takesPeakSampleAtOnce() {
+        InstanceStats stats = new InstanceStats("a", DECAY);
+        stats.observe(10 * MS, T0);
+        stats.observe(50 * MS, T0 + MS);
+
+        assertEquals(50 * MS, stats.getLatencyNanos(T0 + MS), MS);
+    }
+
+    @Test
+    void blendsLowerSamplesByTimeSinceLastSample() {
+        InstanceStats stats = new InstanceStats("a", DECAY);
+        stats.observe(100 * MS, T0);
+        // one decay period later the old average keeps a weight of 1/e
+        stats.observe(0, T0 + DECAY);
+
+        assertEquals(100 * MS / Math.E, stats.getLatencyNanos(T0 + DECAY), MS);
+    }
+
+    @Test
+    void decaysWhenReadWithoutNewSamples() {
+        InstanceStats stats = new InstanceStats("a", DECAY);
+        stats.observe(100 * MS, T0);
+
+        assertEquals(100 * MS, stats.getLatencyNanos(T0), 1);
+        assertEquals(100 * MS / Math.E, stats.getLatencyNanos(T0 + DECAY), MS);
+        // a single slow response does not keep the instance expensive for good
+        assertTrue(stats.getLatencyNanos(T0 + 10 * DECAY) < MS);
+    }
+
+    @Test
+    void weighsLatencyByRequestsInFlight() {
+        InstanceStats stats = new InstanceStats("a", DECAY);
+        stats.observe(10 * MS, T0);
+        double idle = stats.cost(T0);
+        stats.start();
+        stats.start();
+
+        assertEquals(idle * 3, stats.cost(T0), 1);
+        stats.end();
+        stats.end();
+        assertEquals(idle, stats.cost(T0), 1);
+    }
+
+    @Test
+    void penalizesUnmeasuredInstanceWithRequestsInFlight() {
+        InstanceStats unmeasured = new InstanceStats("a", DECAY);
+        InstanceStats busy = new InstanceStats("b", DECAY);
+        busy.observe(1000 * MS, T0);
+        for (int i = 0; i < 100; i++) {
+            busy.start();
+        }
+
+        assertTrue(unmeasured.cost(T0) < busy.cost(T0));
+        unmeasured.start();
+        assertTrue(unmeasured.cost(T0) > busy.cost(T0));
+    }
+}
@@ -0,0 +1,117 @@
+package com.mg.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mg.gateway.loadbalancer.TestServiceInstances.SERVICE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<ServiceInstance> instances = TestServiceInstances.instances(2);
+    private final ServiceInstance fast = instances.get(0);
+    private final ServiceInstance slow = instances.get(1);
+
+    private static ServiceInstance choose(LatencyAwareLoadBalancer balancer) {
+        Response<ServiceInstance> response = balancer.choose(null).block();
+        assertTrue(response.hasServer());
+        return response.getServer();
+    }
+
+    private static void fail(LoadBalancerStats stats, ServiceInstance instance, int times) {
+        InstanceStats instanceStats = stats.get(SERVICE_ID, instance);
+        for (int i = 0; i < times; i++) {
+            stats.record(SERVICE_ID, instanceStats, MS, true, System.nanoTime());
+        }
+    }
+
+    @Test
+    void choosesInstanceWithLowerCost() {
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 5, 50);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(instances), stats);
+        long now = System.nanoTime();
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, fast), MS, false, now);
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, slow), 50 * MS, false, now);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(fast, choose(balancer));
+        }
+    }
+
+    @Test
+    void returnsToSlowInstanceOnceItsLatencyDecays() throws InterruptedException {
+        LoadBalancerStats stats = TestServiceInstances.stats(10, 5, 50);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(instances), stats);
+        long now = System.nanoTime();
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, fast), MS, false, now);
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, slow), 1000 * MS, false, now);
+        assertEquals(fast, choose(balancer));
+
+        // the fast instance is busy, and the slow one has not answered for many decay periods
+        stats.get(SERVICE_ID, fast).start();
+        Thread.sleep(300);
+        assertEquals(slow, choose(balancer));
+    }
+
+    @Test
+    void skipsEjectedInstance() {
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 3, 50);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(instances), stats);
+        long now = System.nanoTime();
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, fast), MS, false, now);
+        stats.record(SERVICE_ID, stats.get(SERVICE_ID, slow), 50 * MS, false, now);
+        choose(balancer);
+
+        fail(stats, fast, 2);
+        assertFalse(stats.get(SERVICE_ID, fast).isEjected(System.nanoTime()));
+        fail(stats, fast, 1);
+        assertTrue(stats.get(SERVICE_ID, fast).isEjected(System.nanoTime()));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(slow, choose(balancer));
+        }
+    }
+
+    @Test
+    void keepsEjectionsWithinMaxPercent() {
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 1, 50);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(instances), stats);
+        choose(balancer);
+
+        fail(stats, fast, 1);
+        fail(stats, slow, 5);
+        assertTrue(stats.get(SERVICE_ID, fast).isEjected(System.nanoTime()));
+        assertFalse(stats.get(SERVICE_ID, slow).isEjected(System.nanoTime()));
+    }
+
+    @Test
+    void triesEjectedInstanceWhenAllAreEjected() {
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 1, 100);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(instances), stats);
+        choose(balancer);
+
+        fail(stats, fast, 1);
+        fail(stats, slow, 1);
+        assertTrue(instances.contains(choose(balancer)));
+    }
+
+    @Test
+    void returnsEmptyResponseWithoutInstances() {
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                TestServiceInstances.provider(List.of()), TestServiceInstances.stats(10_000, 5, 50));
+
+        assertFalse(balancer.choose(null).block().hasServer());
+    }
+}
@@ -0,0 +1,88 @@
+package com.mg.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.mg.gateway.loadbalancer.TestServiceInstances.SERVICE_ID;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Local multi-instance harness: three simulated backends, one of them deliberately slowed,
+ * driven by concurrent clients through round robin and through the latency-aware balancer.
+ * Each request is reported to the statistics the same way LoadBalancerStatsFilter does.
+ */
+class LoadBalancerLatencyHarnessTest {
+
+    private static final int CLIENTS = 6;
+    private static final int REQUESTS_PER_CLIENT = 200;
+    private static final long FAST_MS = 2;
+    private static final long SLOW_MS = 50;
+
+    private final List<ServiceInstance> instances = TestServiceInstances.instances(3);
+    private final ServiceInstance slowInstance = instances.get(2);
+
+    @Test
+    void latencyAwareBalancerCutsP99WhenOneInstanceIsSlow() throws Exception {
+        LoadBalancerStats stats = TestServiceInstances.stats(10_000, 5, 50);
+        long roundRobin = p99(new RoundRobinLoadBalancer(TestServiceInstances.provider(instances), SERVICE_ID),
+                null);
+        long latencyAware = p99(new LatencyAwareLoadBalancer(SERVICE_ID, TestServiceInstances.provider(instances),
+                stats), stats);
+
+        System.out.printf("p99 round robin: %d ms, latency aware: %d ms%n", roundRobin, latencyAware);
+        assertTrue(roundRobin >= SLOW_MS);
+        assertTrue(latencyAware * 3 < roundRobin);
+    }
+
+    private long p99(ReactorServiceInstanceLoadBalancer balancer, LoadBalancerStats stats) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        latencies.add(send(balancer, stats));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+    }
+
+    private long send(ReactorServiceInstanceLoadBalancer balancer, LoadBalancerStats stats)
+            throws InterruptedException {
+        ServiceInstance instance = balancer.choose(null).block().getServer();
+        InstanceStats instanceStats = stats != null ? stats.get(SERVICE_ID, instance) : null;
+        if (instanceStats != null) {
+            instanceStats.start();
+        }
+        long start = System.nanoTime();
+        Thread.sleep(instance.equals(slowInstance) ? SLOW_MS : FAST_MS);
+        long now = System.nanoTime();
+        if (instanceStats != null) {
+            instanceStats.end();
+            stats.record(SERVICE_ID, instanceStats, now - start, false, now);
+        }
+        return now - start;
+    }
+}
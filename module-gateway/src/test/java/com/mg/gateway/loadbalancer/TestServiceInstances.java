@@ -0,0 +1,70 @@
+package com.mg.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed instance lists for load balancer tests, without a discovery client.
+ */
+final class TestServiceInstances {
+
+    static final String SERVICE_ID = "SERVICE-API";
+
+    private TestServiceInstances() {
+    }
+
+    static List<ServiceInstance> instances(int count) {
+        List<ServiceInstance> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(new DefaultServiceInstance("instance-" + i, SERVICE_ID, "10.0.0." + i, 8080, false));
+        }
+        return instances;
+    }
+
+    static LoadBalancerStats stats(long decayMs, int failureThreshold, int maxEjectionPercent) {
+        return new LoadBalancerStats(new SimpleMeterRegistry(), decayMs, failureThreshold, 30_000, 300_000,
+                maxEjectionPercent);
+    }
+
+    static ObjectProvider<ServiceInstanceListSupplier> provider(List<ServiceInstance> instances) {
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE_ID;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        };
+        return new ObjectProvider<>() {
+            @Override
+            public ServiceInstanceListSupplier getObject(Object... args) {
+                return supplier;
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getIfAvailable() {
+                return supplier;
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getIfUnique() {
+                return supplier;
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getObject() {
+                return supplier;
+            }
+        };
+    }
+}
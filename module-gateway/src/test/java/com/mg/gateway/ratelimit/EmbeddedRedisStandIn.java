@@ -0,0 +1,64 @@
+package com.mg.gateway.ratelimit;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the Redis server behind {@link RedisTokenBucketStore}.
+ * It evaluates the token bucket script in Java against a map shared by every store
+ * built on it (like gateway instances sharing one Redis), and can be switched to
+ * fail or hang to simulate an outage. The connection factory is never started.
+ */
+class EmbeddedRedisStandIn extends ReactiveStringRedisTemplate {
+
+    enum Mode { UP, DOWN, HANGING }
+
+    private final Map<String, Long> values = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile Mode mode = Mode.UP;
+
+    EmbeddedRedisStandIn() {
+        super(new LettuceConnectionFactory());
+    }
+
+    void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    int getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+        calls.incrementAndGet();
+        return switch (mode) {
+            case DOWN -> Flux.error(new RedisConnectionFailureException("connection refused"));
+            case HANGING -> Flux.never();
+            case UP -> Flux.just((T) eval(keys.get(0), Long.parseLong((String) args.get(0)),
+                    Long.parseLong((String) args.get(1)), Long.parseLong((String) args.get(2))));
+        };
+    }
+
+    // same steps as the Lua script, with TIME in microseconds
+    private synchronized List<Long> eval(String key, long interval, long burst, long tokens) {
+        long now = System.nanoTime() / 1000;
+        long tat = Math.max(values.getOrDefault(key, now), now);
+        long newTat = tat + interval * tokens;
+        long allowAt = newTat - burst;
+        if (allowAt > now) {
+            return List.of(0L, Math.floorDiv(burst - (tat - now), interval), allowAt - now, tat - now);
+        }
+        values.put(key, newTat);
+        return List.of(1L, Math.floorDiv(burst - (newTat - now), interval), 0L, newTat - now);
+    }
+}
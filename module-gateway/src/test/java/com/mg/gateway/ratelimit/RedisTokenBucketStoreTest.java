@@ -0,0 +1,91 @@
+package com.mg.gateway.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisTokenBucketStoreTest {
+
+    private final EmbeddedRedisStandIn redis = new EmbeddedRedisStandIn();
+    private final List<RedisTokenBucketStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(RedisTokenBucketStore::shutdown);
+    }
+
+    private RedisTokenBucketStore newStore(long retryIntervalMs) {
+        RedisTokenBucketStore store = new RedisTokenBucketStore(redis, 4, 60_000, 50, retryIntervalMs);
+        stores.add(store);
+        return store;
+    }
+
+    @Test
+    void sharesBucketsBetweenInstances() {
+        RedisTokenBucketStore first = newStore(5000);
+        RedisTokenBucketStore second = newStore(5000);
+
+        RateLimitResult allowed = first.tryConsume("ip:1", 2, 1, 1).block();
+        assertTrue(allowed.allowed());
+        assertEquals(1, allowed.remaining());
+        assertTrue(second.tryConsume("ip:1", 2, 1, 1).block().allowed());
+
+        // the third request is rejected whichever instance it reaches
+        RateLimitResult rejected = first.tryConsume("ip:1", 2, 1, 1).block();
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertTrue(rejected.retryAfterMillis() > 0 && rejected.retryAfterMillis() <= 1000);
+        assertTrue(second.tryConsume("ip:2", 2, 1, 1).block().allowed());
+    }
+
+    @Test
+    void skipsRedisForRetryIntervalAfterFailure() {
+        RedisTokenBucketStore store = newStore(60_000);
+        redis.setMode(EmbeddedRedisStandIn.Mode.DOWN);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(store.tryConsume("ip:" + i, 5, 1, 1).block().allowed());
+        }
+        // only the first request waited for Redis, the rest went straight to the local bucket
+        assertEquals(1, redis.getCalls());
+        assertFalse(store.isAvailable());
+    }
+
+    @Test
+    void fallsBackWhenRedisHangsPastTimeout() {
+        RedisTokenBucketStore store = newStore(60_000);
+        redis.setMode(EmbeddedRedisStandIn.Mode.HANGING);
+
+        long start = System.nanoTime();
+        assertTrue(store.tryConsume("ip:1", 5, 1, 1).block().allowed());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertFalse(store.isAvailable());
+    }
+
+    @Test
+    void retriesRedisAfterInterval() throws InterruptedException {
+        RedisTokenBucketStore store = newStore(100);
+        redis.setMode(EmbeddedRedisStandIn.Mode.DOWN);
+        store.tryConsume("ip:1", 5, 1, 1).block();
+
+        // a retry that fails again keeps the store on local buckets
+        Thread.sleep(150);
+        store.tryConsume("ip:1", 5, 1, 1).block();
+        assertEquals(2, redis.getCalls());
+        assertFalse(store.isAvailable());
+
+        redis.setMode(EmbeddedRedisStandIn.Mode.UP);
+        Thread.sleep(150);
+        assertTrue(store.tryConsume("ip:1", 5, 1, 1).block().allowed());
+        assertEquals(3, redis.getCalls());
+        assertTrue(store.isAvailable());
+        store.tryConsume("ip:1", 5, 1, 1).block();
+        assertEquals(4, redis.getCalls());
+    }
+}